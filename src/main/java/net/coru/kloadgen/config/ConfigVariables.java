@@ -0,0 +1,71 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.jmeter.testelement.TestElement;
+import org.apache.jmeter.threads.JMeterVariables;
+
+/**
+ * Immutable set of variables a configuration element hands over to the samplers of a thread.
+ * <p>
+ * Configuration elements are cloned for every thread and notified on every iteration. {@link #publish} resolves the
+ * variables of an element and puts them into the thread variables on the first iteration only, while that element
+ * stays the last one of its kind to publish in the thread.
+ */
+public final class ConfigVariables {
+
+  private static final String PUBLISHED_BY = "kloadgen.config.published.";
+
+  private final Map<String, Object> variables;
+
+  private ConfigVariables(Map<String, Object> variables) {
+    this.variables = Collections.unmodifiableMap(variables);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * @param threadVariables variables of the current thread
+   * @param element configuration element publishing the variables
+   * @param resolver resolves the variables of the element, only called when they have to be published
+   */
+  public static void publish(JMeterVariables threadVariables, TestElement element, Supplier<ConfigVariables> resolver) {
+    String publishedBy = PUBLISHED_BY + element.getClass().getName();
+    if (threadVariables.getObject(publishedBy) != element) {
+      resolver.get().variables.forEach(threadVariables::putObject);
+      threadVariables.putObject(publishedBy, element);
+    }
+  }
+
+  public Map<String, Object> getVariables() {
+    return variables;
+  }
+
+  public static final class Builder {
+
+    private final Map<String, Object> variables = new LinkedHashMap<>();
+
+    private Builder() {
+    }
+
+    public Builder put(String name, Object value) {
+      variables.put(name, value);
+      return this;
+    }
+
+    public ConfigVariables build() {
+      return new ConfigVariables(new LinkedHashMap<>(variables));
+    }
+  }
+}
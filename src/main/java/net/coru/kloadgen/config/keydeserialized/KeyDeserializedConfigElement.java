@@ -25,13 +25,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.coru.kloadgen.config.ConfigVariables;
 import net.coru.kloadgen.model.FieldValueMapping;
 import org.apache.jmeter.config.ConfigTestElement;
 import org.apache.jmeter.engine.event.LoopIterationEvent;
 import org.apache.jmeter.engine.event.LoopIterationListener;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.threads.JMeterContextService;
-import org.apache.jmeter.threads.JMeterVariables;
 
 @Getter
 @Setter
@@ -51,12 +51,13 @@ public class KeyDeserializedConfigElement extends ConfigTestElement implements T
   @Override
   public void iterationStart(LoopIterationEvent loopIterationEvent) {
 
-    JMeterVariables variables = JMeterContextService.getContext().getVariables();
-    variables.putObject(KEY_SCHEMA_PROPERTIES, keySchemaProperties);
-    variables.putObject(KEY_SCHEMA_TYPE, keySchemaType);
-    variables.putObject(KEY_DESERIALIZER_CLASS_PROPERTY, keyDeserializerConfiguration);
-    variables.putObject(KEY_NAME_STRATEGY, keyNameStrategy);
-    variables.putObject(SCHEMA_KEYED_MESSAGE_KEY, Boolean.TRUE);
+    ConfigVariables.publish(JMeterContextService.getContext().getVariables(), this, () -> ConfigVariables.builder()
+        .put(KEY_SCHEMA_PROPERTIES, keySchemaProperties)
+        .put(KEY_SCHEMA_TYPE, keySchemaType)
+        .put(KEY_DESERIALIZER_CLASS_PROPERTY, keyDeserializerConfiguration)
+        .put(KEY_NAME_STRATEGY, keyNameStrategy)
+        .put(SCHEMA_KEYED_MESSAGE_KEY, Boolean.TRUE)
+        .build());
   }
 
 }
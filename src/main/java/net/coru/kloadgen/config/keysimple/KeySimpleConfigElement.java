@@ -16,12 +16,12 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.coru.kloadgen.config.ConfigVariables;
 import org.apache.jmeter.config.ConfigTestElement;
 import org.apache.jmeter.engine.event.LoopIterationEvent;
 import org.apache.jmeter.engine.event.LoopIterationListener;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.threads.JMeterContextService;
-import org.apache.jmeter.threads.JMeterVariables;
 
 @Getter
 @Setter
@@ -39,11 +39,12 @@ public class KeySimpleConfigElement extends ConfigTestElement implements TestBea
   @Override
   public void iterationStart(LoopIterationEvent loopIterationEvent) {
 
-    JMeterVariables variables = JMeterContextService.getContext().getVariables();
-    variables.putObject(KEY_VALUE, keyValue);
-    variables.putObject(KEY_TYPE, keyType);
-    variables.putObject(KEY_SERIALIZER_CLASS_PROPERTY, keySerializerConfiguration);
-    variables.putObject(SIMPLE_KEYED_MESSAGE_KEY, Boolean.TRUE);
+    ConfigVariables.publish(JMeterContextService.getContext().getVariables(), this, () -> ConfigVariables.builder()
+        .put(KEY_VALUE, keyValue)
+        .put(KEY_TYPE, keyType)
+        .put(KEY_SERIALIZER_CLASS_PROPERTY, keySerializerConfiguration)
+        .put(SIMPLE_KEYED_MESSAGE_KEY, Boolean.TRUE)
+        .build());
   }
 
 }
@@ -24,12 +24,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.coru.kloadgen.config.ConfigVariables;
 import net.coru.kloadgen.model.PropertyMapping;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jmeter.config.ConfigTestElement;
@@ -38,7 +40,6 @@ import org.apache.jmeter.engine.event.LoopIterationListener;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.testelement.property.TestElementProperty;
 import org.apache.jmeter.threads.JMeterContextService;
-import org.apache.jmeter.threads.JMeterVariables;
 
 @Getter
 @Setter
@@ -47,34 +48,39 @@ import org.apache.jmeter.threads.JMeterVariables;
 @NoArgsConstructor
 public class SchemaRegistryConfigElement extends ConfigTestElement implements TestBean, LoopIterationListener {
 
+  private static final Pattern JMETER_PROPERTY = Pattern.compile("\\$\\{__P\\(.*\\)}");
+
+  private static final Pattern JMETER_VARIABLE = Pattern.compile("\\$\\{\\w*}");
+
   private String schemaRegistryUrl;
 
   private List<PropertyMapping> schemaRegistryProperties;
 
   @Override
   public void iterationStart(LoopIterationEvent iterEvent) {
-    serializeProperties();
+    ConfigVariables.publish(getThreadContext().getVariables(), this, this::serializeProperties);
   }
 
-  private void serializeProperties() {
-    JMeterVariables jMeterVariables = getThreadContext().getVariables();
+  private ConfigVariables serializeProperties() {
+    ConfigVariables.Builder variables = ConfigVariables.builder();
 
     Map<String, String> schemaProperties = getProperties();
 
-    jMeterVariables.put(SCHEMA_REGISTRY_URL, checkPropertyOrVariable(getRegistryUrl()));
+    variables.put(SCHEMA_REGISTRY_URL, checkPropertyOrVariable(getRegistryUrl()));
     if (FLAG_YES.equalsIgnoreCase(schemaProperties.get(SCHEMA_REGISTRY_AUTH_FLAG))) {
-      jMeterVariables.put(SCHEMA_REGISTRY_AUTH_FLAG, FLAG_YES);
+      variables.put(SCHEMA_REGISTRY_AUTH_FLAG, FLAG_YES);
       if (SCHEMA_REGISTRY_AUTH_BASIC_TYPE.equalsIgnoreCase(schemaProperties.get(SCHEMA_REGISTRY_AUTH_KEY))) {
-        jMeterVariables.put(SCHEMA_REGISTRY_AUTH_KEY, SCHEMA_REGISTRY_AUTH_BASIC_TYPE);
-        jMeterVariables.put(BASIC_AUTH_CREDENTIALS_SOURCE, "USER_INFO");
-        jMeterVariables.put(USER_INFO_CONFIG,
-                            schemaProperties.get(SCHEMA_REGISTRY_USERNAME_KEY) + ":" + schemaProperties.get(SCHEMA_REGISTRY_PASSWORD_KEY));
+        variables.put(SCHEMA_REGISTRY_AUTH_KEY, SCHEMA_REGISTRY_AUTH_BASIC_TYPE);
+        variables.put(BASIC_AUTH_CREDENTIALS_SOURCE, "USER_INFO");
+        variables.put(USER_INFO_CONFIG,
+                      schemaProperties.get(SCHEMA_REGISTRY_USERNAME_KEY) + ":" + schemaProperties.get(SCHEMA_REGISTRY_PASSWORD_KEY));
       } else if (SCHEMA_REGISTRY_AUTH_BEARER_TYPE.equalsIgnoreCase(schemaProperties.get(SCHEMA_REGISTRY_AUTH_KEY))) {
-        jMeterVariables.put(SCHEMA_REGISTRY_AUTH_KEY, SCHEMA_REGISTRY_AUTH_BEARER_TYPE);
-        jMeterVariables.put(BEARER_AUTH_CREDENTIALS_SOURCE, "STATIC_TOKEN");
-        jMeterVariables.put(BEARER_AUTH_TOKEN_CONFIG, schemaProperties.get(SCHEMA_REGISTRY_AUTH_BEARER_KEY));
+        variables.put(SCHEMA_REGISTRY_AUTH_KEY, SCHEMA_REGISTRY_AUTH_BEARER_TYPE);
+        variables.put(BEARER_AUTH_CREDENTIALS_SOURCE, "STATIC_TOKEN");
+        variables.put(BEARER_AUTH_TOKEN_CONFIG, schemaProperties.get(SCHEMA_REGISTRY_AUTH_BEARER_KEY));
       }
     }
+    return variables.build();
   }
 
   private Map<String, String> getProperties() {
@@ -89,9 +95,9 @@ public class SchemaRegistryConfigElement extends ConfigTestElement implements Te
   }
 
   private String checkPropertyOrVariable(String textToCheck) {
-    if (textToCheck.matches("\\$\\{__P\\(.*\\)}")) {
+    if (JMETER_PROPERTY.matcher(textToCheck).matches()) {
       return JMeterContextService.getContext().getProperties().getProperty(textToCheck.substring(6, textToCheck.length() - 2));
-    } else if (textToCheck.matches("\\$\\{\\w*}")) {
+    } else if (JMETER_VARIABLE.matcher(textToCheck).matches()) {
       return JMeterContextService.getContext().getVariables().get(textToCheck.substring(2, textToCheck.length() - 1));
     } else {
       return textToCheck;
@@ -24,13 +24,13 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import net.coru.kloadgen.config.ConfigVariables;
 import net.coru.kloadgen.model.FieldValueMapping;
 import org.apache.jmeter.config.ConfigTestElement;
 import org.apache.jmeter.engine.event.LoopIterationEvent;
 import org.apache.jmeter.engine.event.LoopIterationListener;
 import org.apache.jmeter.testbeans.TestBean;
 import org.apache.jmeter.threads.JMeterContextService;
-import org.apache.jmeter.threads.JMeterVariables;
 
 @Getter
 @Setter
@@ -50,12 +50,12 @@ public class ValueDeserializedConfigElement extends ConfigTestElement implements
   @Override
   public void iterationStart(LoopIterationEvent loopIterationEvent) {
 
-    JMeterVariables variables = JMeterContextService.getContext().getVariables();
-    variables.putObject(VALUE_SCHEMA_PROPERTIES, valueSchemaProperties);
-    variables.putObject(VALUE_SCHEMA_TYPE, valueSchemaType);
-    variables.putObject(VALUE_DESERIALIZER_CLASS_PROPERTY, valueDeSerializerConfiguration);
-    variables.putObject(VALUE_NAME_STRATEGY, valueNameStrategy);
-
+    ConfigVariables.publish(JMeterContextService.getContext().getVariables(), this, () -> ConfigVariables.builder()
+        .put(VALUE_SCHEMA_PROPERTIES, valueSchemaProperties)
+        .put(VALUE_SCHEMA_TYPE, valueSchemaType)
+        .put(VALUE_DESERIALIZER_CLASS_PROPERTY, valueDeSerializerConfiguration)
+        .put(VALUE_NAME_STRATEGY, valueNameStrategy)
+        .build());
   }
 
 }
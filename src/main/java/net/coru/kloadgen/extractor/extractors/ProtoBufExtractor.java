@@ -19,9 +19,9 @@ import com.squareup.wire.schema.internal.parser.ProtoFileElement;
 import com.squareup.wire.schema.internal.parser.TypeElement;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.model.FieldValueMapping;
+import net.coru.kloadgen.randomtool.random.RandomSource;
 import net.coru.kloadgen.util.ProtobufHelper;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -87,7 +87,7 @@ public class ProtoBufExtractor {
     List<OneOfElement> oneOfs = new ArrayList<>(field.getOneOfs());
     for (OneOfElement oneOfElement : oneOfs) {
       if (!oneOfElement.getFields().isEmpty()) {
-        FieldElement subField = oneOfElement.getFields().get(RandomUtils.nextInt(0, oneOfElement.getFields().size()));
+        FieldElement subField = oneOfElement.getFields().get(RandomSource.nextInt(0, oneOfElement.getFields().size()));
         if (ProtobufHelper.isValidType(subField.getType())) {
           completeFieldList.add(new FieldValueMapping(subField.getName(), ProtobufHelper.translateType(subField.getType()), 0, "", true, isAncestorRequired));
         } else if (nestedTypes.containsKey(subField.getType())) {
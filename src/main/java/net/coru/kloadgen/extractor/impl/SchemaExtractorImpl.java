@@ -14,6 +14,7 @@ import static io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig.SCHE
 import static net.coru.kloadgen.common.SchemaTypeEnum.AVRO;
 import static net.coru.kloadgen.common.SchemaTypeEnum.JSON;
 import static net.coru.kloadgen.common.SchemaTypeEnum.PROTOBUF;
+import static net.coru.kloadgen.loadgen.SchemaBundle.SCHEMA_REGISTRY_BUNDLE_EXPORT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_YES;
 import static net.coru.kloadgen.util.SchemaRegistryKeyHelper.SCHEMA_REGISTRY_AUTH_BASIC_TYPE;
 import static net.coru.kloadgen.util.SchemaRegistryKeyHelper.SCHEMA_REGISTRY_AUTH_BEARER_KEY;
@@ -36,24 +37,23 @@ import java.util.stream.Stream;
 
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.avro.AvroSchema;
-import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
-import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
-import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
-import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
 import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.kafka.schemaregistry.json.JsonSchema;
-import io.confluent.kafka.schemaregistry.json.JsonSchemaProvider;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
-import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
+import lombok.extern.slf4j.Slf4j;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.extractor.SchemaExtractor;
 import net.coru.kloadgen.extractor.extractors.AvroExtractor;
 import net.coru.kloadgen.extractor.extractors.JsonExtractor;
 import net.coru.kloadgen.extractor.extractors.ProtoBufExtractor;
+import net.coru.kloadgen.loadgen.SchemaBundle;
+import net.coru.kloadgen.loadgen.SchemaRegistryCache;
 import net.coru.kloadgen.model.FieldValueMapping;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.jmeter.threads.JMeterContextService;
 
+@Slf4j
 public class SchemaExtractorImpl implements SchemaExtractor {
 
   private final AvroExtractor avroExtractor = new AvroExtractor();
@@ -86,12 +86,19 @@ public class SchemaExtractorImpl implements SchemaExtractor {
     }
 
     List<FieldValueMapping> attributeList = new ArrayList<>();
-    SchemaRegistryClient schemaRegistryClient = new CachedSchemaRegistryClient(List.of(originals.get(SCHEMA_REGISTRY_URL_CONFIG)), 1000,
-                                                                               List.of(new AvroSchemaProvider(), new JsonSchemaProvider(), new ProtobufSchemaProvider()),
-                                                                               originals);
-
-    SchemaMetadata schemaMetadata = schemaRegistryClient.getLatestSchemaMetadata(subjectName);
-    ParsedSchema schema = schemaRegistryClient.getSchemaBySubjectAndId(subjectName, schemaMetadata.getId());
+    var subjectSchema = SchemaRegistryCache.reload(originals, subjectName);
+    if (StringUtils.isNotBlank(properties.getProperty(SCHEMA_REGISTRY_BUNDLE_EXPORT))) {
+      if (!subjectSchema.getRight().references().isEmpty()) {
+        log.warn("Not adding subject {} to the schema bundle, schemas with references cannot be bundled", subjectName);
+      } else {
+        try {
+          SchemaBundle.export(Paths.get(properties.getProperty(SCHEMA_REGISTRY_BUNDLE_EXPORT)), subjectName, subjectSchema);
+        } catch (KLoadGenException exception) {
+          log.warn("Could not add subject {} to the schema bundle", subjectName, exception);
+        }
+      }
+    }
+    ParsedSchema schema = subjectSchema.getRight();
     if (AVRO.name().equalsIgnoreCase(schema.schemaType())) {
       (((AvroSchema) schema).rawSchema()).getFields().forEach(field -> avroExtractor.processField(field, attributeList));
     } else if (JSON.name().equalsIgnoreCase(schema.schemaType())) {
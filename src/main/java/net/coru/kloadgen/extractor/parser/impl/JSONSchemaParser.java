@@ -35,10 +35,10 @@ import net.coru.kloadgen.model.json.ObjectField;
 import net.coru.kloadgen.model.json.Schema;
 import net.coru.kloadgen.model.json.StringField;
 import net.coru.kloadgen.model.json.UUIDField;
+import net.coru.kloadgen.randomtool.random.RandomSource;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.IteratorUtils;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
 public class JSONSchemaParser implements SchemaParser {
@@ -244,7 +244,7 @@ public class JSONSchemaParser implements SchemaParser {
     switch (type) {
       case ANY_OF:
       case ONE_OF:
-        resultObject = buildDefinition(fieldName, jsonNode.path(type).get(RandomUtils.nextInt(0, optionsNumber)), definitions);
+        resultObject = buildDefinition(fieldName, jsonNode.path(type).get(RandomSource.nextInt(0, optionsNumber)), definitions);
         break;
       default:
         resultObject = buildDefinition(fieldName, jsonNode.path(type), definitions);
@@ -465,7 +465,7 @@ public class JSONSchemaParser implements SchemaParser {
       switch (type) {
         case ANY_OF:
         case ONE_OF:
-          resultObject = buildCombinedField(fieldName, Collections.singletonList(properties.get(RandomUtils.nextInt(0, optionsNumber))));
+          resultObject = buildCombinedField(fieldName, Collections.singletonList(properties.get(RandomSource.nextInt(0, optionsNumber))));
           break;
         default:
           resultObject = buildCombinedField(fieldName, properties);
@@ -476,7 +476,7 @@ public class JSONSchemaParser implements SchemaParser {
       switch (type) {
         case ANY_OF:
         case ONE_OF:
-          resultObject = buildCombinedType(fieldName, properties.get(RandomUtils.nextInt(0, optionsNumber)));
+          resultObject = buildCombinedType(fieldName, properties.get(RandomSource.nextInt(0, optionsNumber)));
           break;
         default:
           throw new KLoadGenException("Incorrect type in combination");
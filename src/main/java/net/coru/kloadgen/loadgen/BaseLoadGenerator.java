@@ -9,8 +9,11 @@ package net.coru.kloadgen.loadgen;
 import java.util.List;
 import java.util.Map;
 
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
 import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.serializer.EnrichedRecord;
+import org.apache.commons.lang3.tuple.Pair;
 
 public interface BaseLoadGenerator {
 
@@ -18,5 +21,7 @@ public interface BaseLoadGenerator {
 
   void setUpGenerator(String schema, List<FieldValueMapping> fieldExprMappings);
 
+  void setUpGenerator(Pair<SchemaMetadata, ParsedSchema> schema, List<FieldValueMapping> fieldExprMappings);
+
   EnrichedRecord nextMessage();
 }
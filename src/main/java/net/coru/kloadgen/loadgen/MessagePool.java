@@ -0,0 +1,218 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import net.coru.kloadgen.exception.KLoadGenException;
+
+/**
+ * Fixed set of already serialized key/value pairs that is filled once and then replayed in a cycle.
+ * <p>
+ * Records are kept either on heap or in a memory-mapped temporary file, which keeps large pools out of the heap.
+ * A mapped pool trades CPU for heap: every read copies the record out of the file into a new array, as the producer
+ * needs one to send it anyway, and the file is limited to 2 GB. A pool belongs to a single sampler thread.
+ */
+public abstract class MessagePool implements Closeable {
+
+  public enum Storage {
+    MEMORY,
+    MMAP
+  }
+
+  private final int capacity;
+
+  private int size;
+
+  private int cursor;
+
+  protected MessagePool(int capacity) {
+    if (capacity < 1) {
+      throw new KLoadGenException("Message pool size must be greater than 0");
+    }
+    this.capacity = capacity;
+  }
+
+  public static MessagePool create(Storage storage, int capacity) {
+    return Storage.MMAP == storage ? new MappedMessagePool(capacity) : new InMemoryMessagePool(capacity);
+  }
+
+  public final void add(byte[] key, byte[] value) {
+    if (isFull()) {
+      throw new KLoadGenException("Message pool is already full");
+    }
+    store(size++, key, value);
+  }
+
+  public final boolean isFull() {
+    return size == capacity;
+  }
+
+  public final int size() {
+    return size;
+  }
+
+  public final int nextIndex() {
+    if (0 == size) {
+      throw new KLoadGenException("Message pool is empty");
+    }
+    int index = cursor;
+    cursor = (cursor + 1) % size;
+    return index;
+  }
+
+  public abstract byte[] key(int index);
+
+  public abstract byte[] value(int index);
+
+  protected abstract void store(int index, byte[] key, byte[] value);
+
+  @Override
+  public void close() throws IOException {
+    size = 0;
+    cursor = 0;
+  }
+
+  private static final class InMemoryMessagePool extends MessagePool {
+
+    private final byte[][] keys;
+
+    private final byte[][] values;
+
+    private InMemoryMessagePool(int capacity) {
+      super(capacity);
+      keys = new byte[capacity][];
+      values = new byte[capacity][];
+    }
+
+    @Override
+    public byte[] key(int index) {
+      return keys[index];
+    }
+
+    @Override
+    public byte[] value(int index) {
+      return values[index];
+    }
+
+    @Override
+    protected void store(int index, byte[] key, byte[] value) {
+      keys[index] = key;
+      values[index] = value;
+    }
+  }
+
+  private static final class MappedMessagePool extends MessagePool {
+
+    private static final int NULL_LENGTH = -1;
+
+    private static final long MAX_FILE_SIZE = Integer.MAX_VALUE;
+
+    private final int[] offsets;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private MappedByteBuffer mapped;
+
+    private MappedMessagePool(int capacity) {
+      super(capacity);
+      offsets = new int[capacity];
+      try {
+        file = Files.createTempFile("kloadgen-pool", ".bin");
+        file.toFile().deleteOnExit();
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      } catch (IOException e) {
+        throw new KLoadGenException("Unable to create message pool file", e);
+      }
+    }
+
+    @Override
+    public byte[] key(int index) {
+      return read(offsets[index]);
+    }
+
+    @Override
+    public byte[] value(int index) {
+      ByteBuffer view = view();
+      int keyLength = view.getInt(offsets[index]);
+      return read(offsets[index] + Integer.BYTES + Math.max(keyLength, 0));
+    }
+
+    @Override
+    protected void store(int index, byte[] key, byte[] value) {
+      try {
+        long offset = channel.size();
+        long end = offset + 2L * Integer.BYTES + lengthOf(key) + lengthOf(value);
+        if (end > MAX_FILE_SIZE) {
+          throw new KLoadGenException("Message pool file cannot grow over 2 GB, " + index + " records fit in it");
+        }
+        offsets[index] = (int) offset;
+        channel.position(offset);
+        writeEntry(key);
+        writeEntry(value);
+        mapped = null;
+      } catch (IOException e) {
+        throw new KLoadGenException("Unable to write message pool file", e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      super.close();
+      mapped = null;
+      channel.close();
+      Files.deleteIfExists(file);
+    }
+
+    private void writeEntry(byte[] entry) throws IOException {
+      ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).putInt(null == entry ? NULL_LENGTH : entry.length);
+      length.flip();
+      channel.write(length);
+      if (null != entry) {
+        channel.write(ByteBuffer.wrap(entry));
+      }
+    }
+
+    private static long lengthOf(byte[] entry) {
+      return null == entry ? 0 : entry.length;
+    }
+
+    private byte[] read(int offset) {
+      ByteBuffer view = view();
+      int length = view.getInt(offset);
+      byte[] entry = null;
+      if (NULL_LENGTH != length) {
+        entry = new byte[length];
+        ByteBuffer source = view.duplicate();
+        source.position(offset + Integer.BYTES);
+        source.get(entry);
+      }
+      return entry;
+    }
+
+    private ByteBuffer view() {
+      if (null == mapped) {
+        try {
+          mapped = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+          throw new KLoadGenException("Unable to map message pool file", e);
+        }
+      }
+      return mapped;
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import static net.coru.kloadgen.common.SchemaTypeEnum.JSON;
+import static net.coru.kloadgen.common.SchemaTypeEnum.PROTOBUF;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.SchemaProvider;
+import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.json.JsonSchemaProvider;
+import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
+import net.coru.kloadgen.exception.KLoadGenException;
+import org.apache.commons.lang3.tuple.Pair;
+
+/**
+ * File holding the schemas of a set of subjects, with their ids and versions, so that a test can run without a Schema
+ * Registry.
+ * <p>
+ * A bundle is a JSON object with one entry per subject. Bundles are read once per file and shared by every thread.
+ * Schemas with references cannot be bundled because they are not parsed without the registry.
+ */
+public final class SchemaBundle {
+
+  public static final String SCHEMA_REGISTRY_BUNDLE = "schema.registry.bundle";
+
+  public static final String SCHEMA_REGISTRY_BUNDLE_EXPORT = "schema.registry.bundle.export";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+  private static final Map<Path, SchemaBundle> BUNDLES = new ConcurrentHashMap<>();
+
+  private final Map<String, Pair<SchemaMetadata, ParsedSchema>> schemas;
+
+  private SchemaBundle(Map<String, Pair<SchemaMetadata, ParsedSchema>> schemas) {
+    this.schemas = Collections.unmodifiableMap(schemas);
+  }
+
+  /**
+   * @param file bundle to read
+   * @return the bundle, read only on the first call for the file
+   */
+  public static SchemaBundle read(Path file) {
+    return BUNDLES.computeIfAbsent(file.toAbsolutePath().normalize(), SchemaBundle::parse);
+  }
+
+  /**
+   * Adds or replaces the schema of a subject in a bundle file, creating the file when missing.
+   */
+  public static synchronized void export(Path file, String subjectName, Pair<SchemaMetadata, ParsedSchema> schema) {
+    Map<String, Pair<SchemaMetadata, ParsedSchema>> schemas = new TreeMap<>();
+    if (Files.isRegularFile(file)) {
+      schemas.putAll(parse(file).schemas);
+    }
+    schemas.put(subjectName, schema);
+    ObjectNode bundle = MAPPER.createObjectNode();
+    schemas.forEach((subject, subjectSchema) -> bundle.set(subject, toJson(subjectSchema)));
+    write(file, bundle);
+    BUNDLES.remove(file.toAbsolutePath().normalize());
+  }
+
+  public Pair<SchemaMetadata, ParsedSchema> get(String subjectName) {
+    Pair<SchemaMetadata, ParsedSchema> schema = schemas.get(subjectName);
+    if (Objects.isNull(schema)) {
+      throw new KLoadGenException(String.format("Subject %s is not in the schema bundle", subjectName));
+    }
+    return schema;
+  }
+
+  static ObjectNode toJson(Pair<SchemaMetadata, ParsedSchema> schema) {
+    if (!schema.getRight().references().isEmpty()) {
+      throw new KLoadGenException(String.format("Schema %s has references and cannot be stored", schema.getRight().name()));
+    }
+    ObjectNode node = MAPPER.createObjectNode();
+    node.put("id", schema.getLeft().getId());
+    node.put("version", schema.getLeft().getVersion());
+    node.put("schemaType", schema.getRight().schemaType());
+    node.put("schema", schema.getRight().canonicalString());
+    return node;
+  }
+
+  static Pair<SchemaMetadata, ParsedSchema> fromJson(JsonNode node) {
+    String schemaType = node.get("schemaType").asText();
+    String schemaString = node.get("schema").asText();
+    ParsedSchema parsedSchema = providerFor(schemaType).parseSchema(schemaString, Collections.emptyList(), false)
+        .orElseThrow(() -> new KLoadGenException(String.format("Invalid %s schema %s", schemaType, schemaString)));
+    return Pair.of(new SchemaMetadata(node.get("id").asInt(), node.get("version").asInt(), schemaType, Collections.emptyList(), schemaString), parsedSchema);
+  }
+
+  static JsonNode readJson(Path file) throws IOException {
+    return MAPPER.readTree(file.toFile());
+  }
+
+  static void write(Path file, JsonNode node) {
+    try {
+      Path directory = file.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      MAPPER.writeValue(temporary.toFile(), node);
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException exception) {
+      throw new KLoadGenException(String.format("Error writing %s", file), exception);
+    }
+  }
+
+  private static SchemaBundle parse(Path file) {
+    Map<String, Pair<SchemaMetadata, ParsedSchema>> schemas = new TreeMap<>();
+    try {
+      Iterator<Entry<String, JsonNode>> subjects = readJson(file).fields();
+      while (subjects.hasNext()) {
+        Entry<String, JsonNode> subject = subjects.next();
+        schemas.put(subject.getKey(), fromJson(subject.getValue()));
+      }
+    } catch (IOException exception) {
+      throw new KLoadGenException(String.format("Error reading schema bundle %s", file), exception);
+    }
+    return new SchemaBundle(schemas);
+  }
+
+  private static SchemaProvider providerFor(String schemaType) {
+    SchemaProvider provider;
+    if (JSON.name().equalsIgnoreCase(schemaType)) {
+      provider = new JsonSchemaProvider();
+    } else if (PROTOBUF.name().equalsIgnoreCase(schemaType)) {
+      provider = new ProtobufSchemaProvider();
+    } else {
+      provider = new AvroSchemaProvider();
+    }
+    return provider;
+  }
+}
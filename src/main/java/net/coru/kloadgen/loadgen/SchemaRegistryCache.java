@@ -0,0 +1,187 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import static io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchemaProvider;
+import io.confluent.kafka.schemaregistry.client.CachedSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.SchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
+import io.confluent.kafka.schemaregistry.json.JsonSchemaProvider;
+import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
+import lombok.extern.slf4j.Slf4j;
+import net.coru.kloadgen.exception.KLoadGenException;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.jmeter.threads.JMeterContextService;
+
+/**
+ * Process wide cache of the schemas retrieved from the Schema Registry.
+ * <p>
+ * The latest schema of a subject is fetched once per registry and test run, and shared by every thread and iteration of
+ * the run. Threads asking for a subject that is being fetched wait for that single request instead of sending their
+ * own. When the {@value #SCHEMA_REGISTRY_CACHE_DIR} JMeter property points to a directory, fetched schemas are also
+ * written there, in one folder per registry, and later runs read them from disk when the registry cannot be reached or
+ * fails to return the subject.
+ */
+@Slf4j
+public final class SchemaRegistryCache {
+
+  public static final String SCHEMA_REGISTRY_CACHE_DIR = "schema.registry.cache.dir";
+
+  private static final Map<Map<String, String>, SchemaRegistryClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private static final Map<Pair<Map<String, String>, String>, FutureTask<Pair<SchemaMetadata, ParsedSchema>>> SCHEMAS = new ConcurrentHashMap<>();
+
+  private static final AtomicLong RUN_STARTED_AT = new AtomicLong();
+
+  private SchemaRegistryCache() {
+  }
+
+  /**
+   * @param originals Schema Registry client configuration, including its URL
+   * @param subjectName subject to retrieve
+   * @return metadata and parsed latest schema of the subject
+   */
+  public static Pair<SchemaMetadata, ParsedSchema> getLatest(Map<String, String> originals, String subjectName) throws IOException, RestClientException {
+    long runStartedAt = JMeterContextService.getTestStartTime();
+    if (RUN_STARTED_AT.getAndSet(runStartedAt) != runStartedAt) {
+      SCHEMAS.clear();
+    }
+    var cacheKey = cacheKey(originals, subjectName);
+    FutureTask<Pair<SchemaMetadata, ParsedSchema>> load = new FutureTask<>(() -> load(originals, subjectName));
+    FutureTask<Pair<SchemaMetadata, ParsedSchema>> cached = SCHEMAS.putIfAbsent(cacheKey, load);
+    if (Objects.isNull(cached)) {
+      cached = load;
+      load.run();
+    }
+    try {
+      return cached.get();
+    } catch (ExecutionException exception) {
+      SCHEMAS.remove(cacheKey, cached);
+      Throwable cause = exception.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      } else if (cause instanceof RestClientException) {
+        throw (RestClientException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new KLoadGenException(String.format("Error retrieving subject %s", subjectName), exception);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new KLoadGenException(exception);
+    }
+  }
+
+  /**
+   * Fetches the latest schema of a subject again, replacing the cached one.
+   */
+  public static Pair<SchemaMetadata, ParsedSchema> reload(Map<String, String> originals, String subjectName) throws IOException, RestClientException {
+    var schema = fetch(originals, subjectName);
+    FutureTask<Pair<SchemaMetadata, ParsedSchema>> loaded = new FutureTask<>(() -> schema);
+    loaded.run();
+    SCHEMAS.put(cacheKey(originals, subjectName), loaded);
+    persist(originals, subjectName, schema);
+    return schema;
+  }
+
+  public static void clear() {
+    SCHEMAS.clear();
+  }
+
+  /**
+   * Keys schemas like their clients, so registries sharing a URL with different credentials do not share schemas.
+   */
+  private static Pair<Map<String, String>, String> cacheKey(Map<String, String> originals, String subjectName) {
+    return Pair.of(new HashMap<>(originals), subjectName);
+  }
+
+  private static Pair<SchemaMetadata, ParsedSchema> load(Map<String, String> originals, String subjectName) throws IOException, RestClientException {
+    Pair<SchemaMetadata, ParsedSchema> schema;
+    try {
+      schema = fetch(originals, subjectName);
+      persist(originals, subjectName, schema);
+    } catch (IOException | RestClientException exception) {
+      schema = readPersisted(originals, subjectName);
+      if (Objects.isNull(schema)) {
+        throw exception;
+      }
+      log.warn("Using the cached copy of subject {}, the Schema Registry failed to return it", subjectName, exception);
+    }
+    return schema;
+  }
+
+  private static Pair<SchemaMetadata, ParsedSchema> fetch(Map<String, String> originals, String subjectName) throws IOException, RestClientException {
+    var schemaRegistryClient = CLIENTS.computeIfAbsent(new HashMap<>(originals), SchemaRegistryCache::createClient);
+    var metadata = schemaRegistryClient.getLatestSchemaMetadata(subjectName);
+    log.info("Retrieved version {} of subject {} from the Schema Registry", metadata.getVersion(), subjectName);
+    return Pair.of(metadata, schemaRegistryClient.getSchemaBySubjectAndId(subjectName, metadata.getId()));
+  }
+
+  private static SchemaRegistryClient createClient(Map<String, String> originals) {
+    return new CachedSchemaRegistryClient(List.of(originals.get(SCHEMA_REGISTRY_URL_CONFIG)), 1000,
+                                          List.of(new AvroSchemaProvider(), new JsonSchemaProvider(), new ProtobufSchemaProvider()), originals);
+  }
+
+  private static Path cacheFile(Map<String, String> originals, String subjectName) {
+    Properties properties = JMeterContextService.getContext().getProperties();
+    String directory = Objects.isNull(properties) ? null : properties.getProperty(SCHEMA_REGISTRY_CACHE_DIR);
+    return StringUtils.isBlank(directory) ? null
+        : Paths.get(directory, fileName(originals.get(SCHEMA_REGISTRY_URL_CONFIG)), fileName(subjectName) + ".json");
+  }
+
+  private static String fileName(String name) {
+    return String.valueOf(name).replaceAll("[^\\w.-]", "_");
+  }
+
+  private static Pair<SchemaMetadata, ParsedSchema> readPersisted(Map<String, String> originals, String subjectName) {
+    Path file = cacheFile(originals, subjectName);
+    Pair<SchemaMetadata, ParsedSchema> schema = null;
+    if (Objects.nonNull(file) && Files.isRegularFile(file)) {
+      try {
+        schema = SchemaBundle.fromJson(SchemaBundle.readJson(file));
+        log.info("Read version {} of subject {} from {}", schema.getLeft().getVersion(), subjectName, file);
+      } catch (IOException | RuntimeException exception) {
+        log.warn("Ignoring unreadable cached schema {}", file, exception);
+      }
+    }
+    return schema;
+  }
+
+  private static void persist(Map<String, String> originals, String subjectName, Pair<SchemaMetadata, ParsedSchema> schema) {
+    Path file = cacheFile(originals, subjectName);
+    if (Objects.nonNull(file)) {
+      if (!schema.getRight().references().isEmpty()) {
+        log.info("Not caching subject {} on disk, schemas with references are always fetched", subjectName);
+      } else {
+        try {
+          SchemaBundle.write(file, SchemaBundle.toJson(schema));
+        } catch (KLoadGenException exception) {
+          log.warn("Could not cache subject {} in {}", subjectName, file, exception);
+        }
+      }
+    }
+  }
+}
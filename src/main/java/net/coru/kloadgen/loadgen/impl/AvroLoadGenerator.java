@@ -6,10 +6,13 @@
 
 package net.coru.kloadgen.loadgen.impl;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import lombok.extern.slf4j.Slf4j;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.loadgen.BaseLoadGenerator;
@@ -17,6 +20,7 @@ import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.processor.AvroSchemaProcessor;
 import net.coru.kloadgen.serializer.EnrichedRecord;
 import org.apache.avro.Schema;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
 public class AvroLoadGenerator extends AbstractLoadGenerator implements BaseLoadGenerator {
@@ -29,10 +33,9 @@ public class AvroLoadGenerator extends AbstractLoadGenerator implements BaseLoad
 
   public void setUpGenerator(Map<String, String> originals, String avroSchemaName, List<FieldValueMapping> fieldExprMappings) {
     try {
-      var schema = retrieveSchema(originals, avroSchemaName);
-      this.avroSchemaProcessor.processSchema(schema.getRight(), schema.getLeft(), fieldExprMappings);
-    } catch (Exception exc) {
-      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      setUpGenerator(retrieveSchema(originals, avroSchemaName), fieldExprMappings);
+    } catch (IOException | RestClientException exc) {
+      log.error("Unable to retrieve schema {}", avroSchemaName, exc);
       throw new KLoadGenException(exc);
     }
   }
@@ -47,6 +50,15 @@ public class AvroLoadGenerator extends AbstractLoadGenerator implements BaseLoad
     }
   }
 
+  public void setUpGenerator(Pair<SchemaMetadata, ParsedSchema> schema, List<FieldValueMapping> fieldExprMappings) {
+    try {
+      this.avroSchemaProcessor.processSchema(schema.getRight(), schema.getLeft(), fieldExprMappings);
+    } catch (Exception exc) {
+      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      throw new KLoadGenException(exc);
+    }
+  }
+
   public EnrichedRecord nextMessage() {
     return avroSchemaProcessor.next();
   }
@@ -6,12 +6,14 @@
 
 package net.coru.kloadgen.loadgen.impl;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.kafka.schemaregistry.json.JsonSchemaProvider;
 import lombok.extern.slf4j.Slf4j;
 import net.coru.kloadgen.exception.KLoadGenException;
@@ -34,10 +36,9 @@ public class JsonLoadGenerator extends AbstractLoadGenerator implements BaseLoad
 
   public void setUpGenerator(Map<String, String> originals, String avroSchemaName, List<FieldValueMapping> fieldExprMappings) {
     try {
-      metadata = retrieveSchema(originals, avroSchemaName);
-      this.jsonSchemaProcessor.processSchema(fieldExprMappings);
-    } catch (Exception exc) {
-      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      setUpGenerator(retrieveSchema(originals, avroSchemaName), fieldExprMappings);
+    } catch (IOException | RestClientException exc) {
+      log.error("Unable to retrieve schema {}", avroSchemaName, exc);
       throw new KLoadGenException(exc);
     }
   }
@@ -53,6 +54,16 @@ public class JsonLoadGenerator extends AbstractLoadGenerator implements BaseLoad
     }
   }
 
+  public void setUpGenerator(Pair<SchemaMetadata, ParsedSchema> schema, List<FieldValueMapping> fieldExprMappings) {
+    try {
+      metadata = schema;
+      this.jsonSchemaProcessor.processSchema(fieldExprMappings);
+    } catch (Exception exc) {
+      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      throw new KLoadGenException(exc);
+    }
+  }
+
   public EnrichedRecord nextMessage() {
     return new EnrichedRecord(metadata.getLeft(), jsonSchemaProcessor.next());
   }
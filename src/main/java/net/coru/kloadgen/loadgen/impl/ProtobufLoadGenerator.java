@@ -1,10 +1,13 @@
 package net.coru.kloadgen.loadgen.impl;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.client.rest.exceptions.RestClientException;
 import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
 import lombok.extern.slf4j.Slf4j;
 import net.coru.kloadgen.exception.KLoadGenException;
@@ -12,6 +15,7 @@ import net.coru.kloadgen.loadgen.BaseLoadGenerator;
 import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.processor.ProtobufSchemaProcessor;
 import net.coru.kloadgen.serializer.EnrichedRecord;
+import org.apache.commons.lang3.tuple.Pair;
 
 @Slf4j
 public class ProtobufLoadGenerator extends AbstractLoadGenerator implements BaseLoadGenerator {
@@ -25,10 +29,9 @@ public class ProtobufLoadGenerator extends AbstractLoadGenerator implements Base
   @Override
   public void setUpGenerator(Map<String, String> originals, String avroSchemaName, List<FieldValueMapping> fieldExprMappings) {
     try {
-      var schema = retrieveSchema(originals, avroSchemaName);
-      this.protobufSchemaProcessor.processSchema(schema.getRight(), schema.getLeft(), fieldExprMappings);
-    } catch (Exception exc) {
-      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      setUpGenerator(retrieveSchema(originals, avroSchemaName), fieldExprMappings);
+    } catch (IOException | RestClientException exc) {
+      log.error("Unable to retrieve schema {}", avroSchemaName, exc);
       throw new KLoadGenException(exc);
     }
   }
@@ -44,6 +47,16 @@ public class ProtobufLoadGenerator extends AbstractLoadGenerator implements Base
     }
   }
 
+  @Override
+  public void setUpGenerator(Pair<SchemaMetadata, ParsedSchema> schema, List<FieldValueMapping> fieldExprMappings) {
+    try {
+      this.protobufSchemaProcessor.processSchema(schema.getRight(), schema.getLeft(), fieldExprMappings);
+    } catch (Exception exc) {
+      log.error("Please make sure that properties data type and expression function return type are compatible with each other", exc);
+      throw new KLoadGenException(exc);
+    }
+  }
+
   @Override
   public EnrichedRecord nextMessage() {
 
@@ -0,0 +1,91 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable list of the values configured for a field, parsed once from its {@link FieldValueMapping}.
+ * <p>
+ * Values written as a JMeter variable reference, {@code ${name}}, are found while parsing so that
+ * {@link #resolve(UnaryOperator)} only has to look those up on every generated value.
+ */
+public final class FieldValueList extends AbstractList<String> implements RandomAccess {
+
+  public static final FieldValueList EMPTY = new FieldValueList(Collections.emptyList());
+
+  private static final Pattern CONTEXT_VARIABLE = Pattern.compile("\\$\\{\\w*}");
+
+  private final String[] values;
+
+  private final int[] variableIndexes;
+
+  private final String[] variableNames;
+
+  private FieldValueList(List<String> values) {
+    this.values = values.toArray(new String[0]);
+    List<Integer> indexes = new ArrayList<>();
+    for (int i = 0; i < this.values.length; i++) {
+      if (isContextVariable(this.values[i])) {
+        indexes.add(i);
+      }
+    }
+    this.variableIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+    this.variableNames = new String[variableIndexes.length];
+    for (int i = 0; i < variableIndexes.length; i++) {
+      String value = this.values[variableIndexes[i]];
+      variableNames[i] = value.substring(2, value.length() - 1);
+    }
+  }
+
+  public static FieldValueList of(List<String> values) {
+    return values.isEmpty() ? EMPTY : new FieldValueList(values);
+  }
+
+  public static boolean isContextVariable(String value) {
+    return null != value && value.startsWith("${") && CONTEXT_VARIABLE.matcher(value).matches();
+  }
+
+  public boolean hasContextVariables() {
+    return variableIndexes.length > 0;
+  }
+
+  /**
+   * Replaces the variable references with their current value.
+   *
+   * @param variables lookup of a variable value by name
+   * @return this list when it holds no variable references, otherwise a new list with the references replaced
+   */
+  public List<String> resolve(UnaryOperator<String> variables) {
+    List<String> resolved = this;
+    if (hasContextVariables()) {
+      String[] copy = values.clone();
+      for (int i = 0; i < variableIndexes.length; i++) {
+        copy[variableIndexes[i]] = variables.apply(variableNames[i]);
+      }
+      resolved = Collections.unmodifiableList(Arrays.asList(copy));
+    }
+    return resolved;
+  }
+
+  @Override
+  public String get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+}
@@ -23,6 +23,7 @@ import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jmeter.testelement.AbstractTestElement;
 
@@ -59,6 +60,14 @@ public class FieldValueMapping extends AbstractTestElement {
 
   private Map<ConstraintTypeEnum, String> constrains = new EnumMap<>(ConstraintTypeEnum.class);
 
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private transient volatile ParsedValues parsedValues;
+
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private transient volatile ResolvedType resolvedType;
+
   private static final ObjectMapper mapper = new ObjectMapper().enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
 
   public FieldValueMapping(String fieldName, String fieldType) {
@@ -127,9 +136,40 @@ public class FieldValueMapping extends AbstractTestElement {
     setProperty(FIELD_TYPE, propertyValue);
   }
 
+  /**
+   * Type of this field for the random generators. The stored type name is resolved on the first call after it changes.
+   *
+   * @return the type, or {@code null} when the type name is not a known {@link FieldType}, as for arrays, maps or
+   *     {@code seq}
+   */
+  public FieldType getResolvedFieldType() {
+    String inputFieldType = getPropertyAsString(FIELD_TYPE);
+    ResolvedType current = resolvedType;
+    if (null == current || !inputFieldType.equals(current.typeName)) {
+      current = new ResolvedType(inputFieldType, FieldType.ofIgnoreCase(inputFieldType));
+      resolvedType = current;
+    }
+    return current.type;
+  }
+
+  /**
+   * Values configured for this field. The stored text is parsed on the first call after it changes and the parsed list
+   * is returned from then on.
+   *
+   * @return an immutable list shared by every caller, copy it before changing it
+   */
   public List<String> getFieldValuesList() {
-    List<String> result = new ArrayList<>();
     String inputFieldValueList = getPropertyAsString(FIELD_VALUES_LIST);
+    ParsedValues current = parsedValues;
+    if (null == current || !inputFieldValueList.equals(current.text)) {
+      current = new ParsedValues(inputFieldValueList, FieldValueList.of(parseFieldValuesList(inputFieldValueList)));
+      parsedValues = current;
+    }
+    return current.values;
+  }
+
+  private static List<String> parseFieldValuesList(String inputFieldValueList) {
+    List<String> result = new ArrayList<>();
     String inputFieldValueAux;
     if (StringUtils.isNotBlank(inputFieldValueList) && !"[]".equalsIgnoreCase(inputFieldValueList)) {
       try {
@@ -194,6 +234,37 @@ public class FieldValueMapping extends AbstractTestElement {
     this.constrains = constrains;
   }
 
+  /**
+   * Field values text together with the list parsed from it, published as one value so that threads never see the
+   * text of one configuration with the values of another.
+   */
+  private static final class ParsedValues {
+
+    private final String text;
+
+    private final FieldValueList values;
+
+    private ParsedValues(String text, FieldValueList values) {
+      this.text = text;
+      this.values = values;
+    }
+  }
+
+  /**
+   * Field type name together with the type resolved from it.
+   */
+  private static final class ResolvedType {
+
+    private final String typeName;
+
+    private final FieldType type;
+
+    private ResolvedType(String typeName, FieldType type) {
+      this.typeName = typeName;
+      this.type = type;
+    }
+  }
+
   public static class FieldValueMappingBuilder {
 
     private final Map<ConstraintTypeEnum, String> constrains = new EnumMap<>(ConstraintTypeEnum.class);
@@ -20,15 +20,16 @@ import static org.apache.avro.Schema.Type.RECORD;
 import static org.apache.avro.Schema.Type.STRING;
 import static org.apache.avro.Schema.Type.UNION;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 import io.confluent.kafka.schemaregistry.ParsedSchema;
 import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
@@ -48,6 +49,10 @@ import org.apache.commons.collections4.IteratorUtils;
 
 public class AvroSchemaProcessor extends SchemaProcessorLib {
 
+  private static final Pattern ROOT_COLLECTION_OF_COLLECTIONS = Pattern.compile("\\[?..*]\\[.*");
+
+  private static final Pattern COLLECTION_OF_COLLECTIONS = Pattern.compile("\\[?..]\\[.*");
+
   private final Set<Type> typesSet = EnumSet.of(INT, DOUBLE, FLOAT, BOOLEAN, STRING, LONG, BYTES, FIXED);
 
   private Schema schema;
@@ -56,12 +61,16 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
 
   private List<FieldValueMapping> fieldExprMappings;
 
+  private FieldValueMapping[] fields = new FieldValueMapping[0];
+
   private RandomObject randomObject;
 
   private RandomMap randomMap;
 
   private AvroGeneratorTool avroGeneratorTool;
 
+  private final Map<Field, Map<ConstraintTypeEnum, String>> constraintsByField = new IdentityHashMap<>();
+
   public void processSchema(ParsedSchema schema, SchemaMetadata metadata, List<FieldValueMapping> fieldExprMappings) {
     this.schema = (Schema) schema.rawSchema();
     this.fieldExprMappings = fieldExprMappings;
@@ -69,7 +78,7 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     randomObject = new RandomObject();
     randomMap = new RandomMap();
     avroGeneratorTool = new AvroGeneratorTool();
-
+    compile();
   }
 
   public void processSchema(Schema schema, SchemaMetadata metadata, List<FieldValueMapping> fieldExprMappings) {
@@ -79,73 +88,80 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     randomObject = new RandomObject();
     randomMap = new RandomMap();
     avroGeneratorTool = new AvroGeneratorTool();
+    compile();
+  }
 
+  private void compile() {
+    constraintsByField.clear();
+    fields = Objects.isNull(fieldExprMappings) ? new FieldValueMapping[0] : fieldExprMappings.toArray(new FieldValueMapping[0]);
+    compileFieldPaths(fieldExprMappings);
   }
 
   public EnrichedRecord next() {
     GenericRecord entity = new GenericData.Record(schema);
-    if (Objects.nonNull(fieldExprMappings) && !fieldExprMappings.isEmpty()) {
-      ArrayDeque<FieldValueMapping> fieldExpMappingsQueue = new ArrayDeque<>(fieldExprMappings);
-      ArrayDeque<FieldValueMapping> fieldExpMappingsQueueCopy = new ArrayDeque<>(fieldExprMappings);
-      fieldExpMappingsQueueCopy.poll();
-      FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
+    if (fields.length > 0) {
+      FieldCursor fieldCursor = new FieldCursor(fields);
+      FieldCursor nextFieldCursor = new FieldCursor(fields);
+      nextFieldCursor.poll();
+      FieldValueMapping fieldValueMapping = fieldCursor.element();
 
       int generatedProperties = 0;
       int elapsedProperties = 0;
 
-      while (!fieldExpMappingsQueue.isEmpty()) {
-        String cleanPath = cleanUpPath(fieldValueMapping, "");
-        String fieldName = getCleanMethodName(fieldValueMapping, "");
-        String typeFilter = cleanPath.replaceAll(fieldName, "");
+      while (!fieldCursor.isEmpty()) {
+        FieldPath fieldPath = fieldPath(fieldValueMapping, "");
+        String cleanPath = fieldPath.getCleanPath();
+        String fieldName = fieldPath.getMethodName();
+        String typeFilter = fieldPath.getTypeFilter();
 
-        if ((fieldExpMappingsQueueCopy.peek() == null || !fieldExpMappingsQueueCopy.peek().getFieldName().contains(fieldName))
+        if ((nextFieldCursor.peek() == null || !nextFieldCursor.peek().getFieldName().contains(fieldName))
             && (generatedProperties == elapsedProperties && generatedProperties > 0) && fieldValueMapping.getAncestorRequired()) {
           fieldValueMapping.setRequired(true);
-          List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+          List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
           temporalFieldValueList.remove("null");
           fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
-          fieldExpMappingsQueueCopy.poll();
+          nextFieldCursor.poll();
         } else {
           generatedProperties = 0;
           elapsedProperties = 0;
-          fieldExpMappingsQueueCopy.poll();
+          nextFieldCursor.poll();
         }
         generatedProperties++;
 
         if (isOptionalField(schema.getField(fieldName)) && !fieldValueMapping.getRequired() && fieldValueMapping.getFieldValuesList().contains("null")) {
           elapsedProperties++;
-          fieldExpMappingsQueue.remove();
-          fieldValueMapping = fieldExpMappingsQueue.peek();
+          fieldCursor.remove();
+          fieldValueMapping = fieldCursor.peek();
         } else {
 
-          if (typeFilter.matches("\\[?..*]\\[.*") && !fieldValueMapping.getFieldType().endsWith("map-map") && !fieldValueMapping.getFieldType().endsWith("array-array") &&
+          if (fieldPath.typeFilterMatches(ROOT_COLLECTION_OF_COLLECTIONS) && !fieldValueMapping.getFieldType().endsWith("map-map") && !fieldValueMapping.getFieldType().endsWith("array-array") &&
               !typeFilter.startsWith(".")) {
             if (checkIfArrayMap(Objects.requireNonNull(fieldValueMapping).getFieldType())) {
-              fieldValueMapping = processFieldValueMappingAsSimpleArrayMap(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsSimpleArrayMap(fieldCursor, entity, fieldName);
             } else if (checkIfMapArray(fieldValueMapping.getFieldType())) {
-              fieldValueMapping = processFieldValueMappingAsSimpleMapArray(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsSimpleMapArray(fieldCursor, entity, fieldName);
             } else if (checkIfIsRecordMapArray(cleanPath)) {
-              fieldValueMapping = processFieldValueMappingAsRecordMapArray(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsRecordMapArray(fieldCursor, entity, fieldName);
             } else if (checkIfIsRecordArrayMap(cleanPath)) {
-              fieldValueMapping = processFieldValueMappingAsRecordArrayMap(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsRecordArrayMap(fieldCursor, entity, fieldName);
             } else {
               throw new KLoadGenException("Wrong configuration Map - Array");
             }
           } else if (typeFilter.startsWith("[")) {
             if (checkIfMap(typeFilter, fieldValueMapping.getFieldType())) {
-              fieldValueMapping = processFieldValueMappingAsSimpleMap(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsSimpleMap(fieldCursor, entity, fieldName);
             } else if (checkIfArray(typeFilter, fieldValueMapping.getFieldType())) {
-              fieldValueMapping = processFieldValueMappingAsSimpleArray(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsSimpleArray(fieldCursor, entity, fieldName);
             } else if (checkIfRecordArray(cleanPath)) {
-              fieldValueMapping = processFieldValueMappingAsRecordArray(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsRecordArray(fieldCursor, entity, fieldName);
             } else if (checkIfRecordMap(cleanPath)) {
-              fieldValueMapping = processFieldValueMappingAsRecordMap(fieldExpMappingsQueue, entity, fieldName);
+              fieldValueMapping = processFieldValueMappingAsRecordMap(fieldCursor, entity, fieldName);
             } else {
               throw new KLoadGenException("Wrong configuration Map - Array");
             }
           } else if (typeFilter.startsWith(".")) {
-            entity.put(fieldName, createObject(entity.getSchema().getField(fieldName).schema(), fieldName, fieldExpMappingsQueue));
-            fieldValueMapping = getSafeGetElement(fieldExpMappingsQueue);
+            entity.put(fieldName, createObject(entity.getSchema().getField(fieldName).schema(), fieldName, fieldCursor));
+            fieldValueMapping = getSafeGetElement(fieldCursor);
           } else {
             entity.put(Objects.requireNonNull(fieldValueMapping).getFieldName(),
                        avroGeneratorTool.generateObject(
@@ -154,8 +170,8 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
                            extractConstraints(schema.getField(fieldValueMapping.getFieldName()))
                        )
             );
-            fieldExpMappingsQueue.remove();
-            fieldValueMapping = fieldExpMappingsQueue.peek();
+            fieldCursor.remove();
+            fieldValueMapping = fieldCursor.peek();
           }
         }
       }
@@ -164,6 +180,15 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
   }
 
   private Map<ConstraintTypeEnum, String> extractConstraints(Schema.Field field) {
+    Map<ConstraintTypeEnum, String> constrains = constraintsByField.get(field);
+    if (null == constrains) {
+      constrains = buildConstraints(field);
+      constraintsByField.put(field, constrains);
+    }
+    return constrains;
+  }
+
+  private Map<ConstraintTypeEnum, String> buildConstraints(Schema.Field field) {
     Map<ConstraintTypeEnum, String> constrains = new HashMap<>();
 
     if (Objects.nonNull(field.schema().getObjectProp("precision"))) {
@@ -177,60 +202,60 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     return constrains;
   }
 
-  private FieldValueMapping processFieldValueMappingAsRecordArray(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), getCleanMethodName(fieldValueMapping, fieldName));
+  private FieldValueMapping processFieldValueMappingAsRecordArray(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
+    Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldPath(fieldValueMapping, fieldName).getMethodName());
 
     entity.put(fieldName, createObjectArray(extractType(entity.getSchema().getField(fieldName), ARRAY).getElementType(),
                                             fieldName,
                                             arraySize,
-                                            fieldExpMappingsQueue));
-    return getSafeGetElement(fieldExpMappingsQueue);
+                                            fieldCursor));
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsRecordMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), getCleanMethodName(fieldValueMapping, fieldName));
+  private FieldValueMapping processFieldValueMappingAsRecordMap(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
+    Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldPath(fieldValueMapping, fieldName).getMethodName());
 
     entity.put(fieldName, createObjectMap(extractType(entity.getSchema().getField(fieldName), MAP).getValueType(),
                                           fieldName,
                                           mapSize,
-                                          fieldExpMappingsQueue));
-    return getSafeGetElement(fieldExpMappingsQueue);
+                                          fieldCursor));
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsSimpleArray(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
+  private FieldValueMapping processFieldValueMappingAsSimpleArray(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
     Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldName);
     entity.put(fieldName,
-               createArray(fieldName, arraySize, fieldExpMappingsQueue));
-    return getSafeGetElement(fieldExpMappingsQueue);
+               createArray(fieldName, arraySize, fieldCursor));
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsSimpleMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    fieldExpMappingsQueue.remove();
+  private FieldValueMapping processFieldValueMappingAsSimpleMap(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
+    fieldCursor.remove();
     // Add condition that checks (][)
     entity.put(fieldName, createSimpleTypeMap(fieldName, fieldValueMapping.getFieldType(),
                                               calculateMapSize(fieldValueMapping.getFieldName(), fieldName),
                                               fieldValueMapping.getValueLength(),
                                               fieldValueMapping.getFieldValuesList()));
-    return fieldExpMappingsQueue.peek();
+    return fieldCursor.peek();
   }
 
-  private FieldValueMapping processFieldValueMappingAsSimpleArrayMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    fieldExpMappingsQueue.remove();
+  private FieldValueMapping processFieldValueMappingAsSimpleArrayMap(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
+    fieldCursor.remove();
     Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldName);
     Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldName);
     var simpleTypeArrayMap = createSimpleTypeArrayMap(fieldName, fieldValueMapping.getFieldType(), arraySize, mapSize, fieldValueMapping.getValueLength(),
                                                       fieldValueMapping.getFieldValuesList());
     entity.put(fieldName, simpleTypeArrayMap);
-    return getSafeGetElement(fieldExpMappingsQueue);
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsSimpleMapArray(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.poll();
+  private FieldValueMapping processFieldValueMappingAsSimpleMapArray(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.poll();
     Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldName);
     Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldName);
 
@@ -238,38 +263,40 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
                                          fieldValueMapping.getConstrains());
 
     entity.put(fieldName, mapArray);
-    return getSafeGetElement(fieldExpMappingsQueue);
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsRecordArrayMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
+  private FieldValueMapping processFieldValueMappingAsRecordArrayMap(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
     Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldName);
     Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldName);
 
     Map<String, List> recordMapArray = new HashMap<>(mapSize);
+    int start = fieldCursor.position();
     for (int i = 0; i < mapSize - 1; i++) {
-      ArrayDeque<FieldValueMapping> temporalQueue = fieldExpMappingsQueue.clone();
       recordMapArray.put((String) randomObject.generateRandom("string", fieldValueMapping.getValueLength(), Collections.emptyList(), Collections.emptyMap()),
-                         createObjectArray(extractType(entity.getSchema().getField(fieldName), MAP).getValueType().getElementType(), fieldName, arraySize, temporalQueue));
+                         createObjectArray(extractType(entity.getSchema().getField(fieldName), MAP).getValueType().getElementType(), fieldName, arraySize, fieldCursor));
+      fieldCursor.rewind(start);
     }
     recordMapArray.put((String) randomObject.generateRandom("string", fieldValueMapping.getValueLength(), Collections.emptyList(), Collections.emptyMap()),
-                       createObjectArray(extractType(entity.getSchema().getField(fieldName), MAP).getValueType().getElementType(), fieldName, arraySize, fieldExpMappingsQueue));
+                       createObjectArray(extractType(entity.getSchema().getField(fieldName), MAP).getValueType().getElementType(), fieldName, arraySize, fieldCursor));
     entity.put(fieldName, recordMapArray);
-    return getSafeGetElement(fieldExpMappingsQueue);
+    return getSafeGetElement(fieldCursor);
   }
 
-  private FieldValueMapping processFieldValueMappingAsRecordMapArray(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, GenericRecord entity, String fieldName) {
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
+  private FieldValueMapping processFieldValueMappingAsRecordMapArray(FieldCursor fieldCursor, GenericRecord entity, String fieldName) {
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
     Integer arraySize = calculateSize(fieldValueMapping.getFieldName(), fieldName);
     Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldName);
     var recordArrayMap = new ArrayList<>(arraySize);
+    int start = fieldCursor.position();
     for (int i = 0; i < arraySize - 1; i++) {
-      ArrayDeque<FieldValueMapping> temporalQueue = fieldExpMappingsQueue.clone();
-      recordArrayMap.add(createObjectMap(extractType(entity.getSchema().getField(fieldName), ARRAY).getElementType(), fieldName, mapSize, temporalQueue));
+      recordArrayMap.add(createObjectMap(extractType(entity.getSchema().getField(fieldName), ARRAY).getElementType(), fieldName, mapSize, fieldCursor));
+      fieldCursor.rewind(start);
     }
-    recordArrayMap.add(createObjectMap(extractType(entity.getSchema().getField(fieldName), ARRAY).getElementType(), fieldName, arraySize, fieldExpMappingsQueue));
+    recordArrayMap.add(createObjectMap(extractType(entity.getSchema().getField(fieldName), ARRAY).getElementType(), fieldName, arraySize, fieldCursor));
     entity.put(fieldName, recordArrayMap);
-    return getSafeGetElement(fieldExpMappingsQueue);
+    return getSafeGetElement(fieldCursor);
   }
 
   private Schema extractType(Field field, Type typeToMatch) {
@@ -287,7 +314,7 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     return false;
   }
 
-  private GenericRecord createObject(final Schema subSchema, final String rootFieldName, final ArrayDeque<FieldValueMapping> fieldExpMappingsQueue) {
+  private GenericRecord createObject(final Schema subSchema, final String rootFieldName, final FieldCursor fieldCursor) {
     Schema innerSchema = subSchema;
     if (subSchema.getType().equals(MAP)) {
       innerSchema = subSchema.getValueType();
@@ -300,19 +327,17 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     } else {
       subEntity.getSchema();
     }
-    FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
+    FieldValueMapping fieldValueMapping = fieldCursor.element();
 
     int generatedProperties = 0;
     int elapsedProperties = 0;
 
-    while (!fieldExpMappingsQueue.isEmpty()
-           && (Objects.requireNonNull(fieldValueMapping).getFieldName().matches(".*" + rootFieldName + "$")
-               || fieldValueMapping.getFieldName().matches(rootFieldName + "\\..*")
-               || fieldValueMapping.getFieldName().matches(".*" + rootFieldName + "\\[.*")
-               || fieldValueMapping.getFieldName().matches(".*" + rootFieldName + "\\..*"))) {
-      String cleanPath = cleanUpPath(fieldValueMapping, rootFieldName);
-      String fieldNameSubEntity = getCleanMethodName(fieldValueMapping, rootFieldName);
-      String typeFilter = cleanPath.replaceAll(fieldNameSubEntity, "");
+    while (!fieldCursor.isEmpty()
+           && fieldPath(Objects.requireNonNull(fieldValueMapping), rootFieldName).belongsToParent()) {
+      FieldPath fieldPath = fieldPath(fieldValueMapping, rootFieldName);
+      String cleanPath = fieldPath.getCleanPath();
+      String fieldNameSubEntity = fieldPath.getMethodName();
+      String typeFilter = fieldPath.getTypeFilter();
 
       generatedProperties++;
 
@@ -322,22 +347,22 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
           && fieldValueMapping.getFieldValuesList().contains("null")) {
 
         elapsedProperties++;
-        FieldValueMapping actualField = fieldExpMappingsQueue.peek();
-        fieldExpMappingsQueue.remove();
-        FieldValueMapping nextField = fieldExpMappingsQueue.peek();
+        FieldValueMapping actualField = fieldCursor.peek();
+        fieldCursor.remove();
+        FieldValueMapping nextField = fieldCursor.peek();
 
-        if (((fieldExpMappingsQueue.peek() != null && !Objects.requireNonNull(nextField).getFieldName().contains(rootFieldName))
-             || fieldExpMappingsQueue.peek() == null)
+        if (((fieldCursor.peek() != null && !Objects.requireNonNull(nextField).getFieldName().contains(rootFieldName))
+             || fieldCursor.peek() == null)
             && actualField.getAncestorRequired()
             && (generatedProperties == elapsedProperties && generatedProperties > 0)) {
 
           fieldValueMapping = actualField;
           fieldValueMapping.setRequired(true);
-          List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+          List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
           temporalFieldValueList.remove("null");
           fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
-          if (fieldExpMappingsQueue.peek() == null) {
-            fieldExpMappingsQueue.add(fieldValueMapping);
+          if (fieldCursor.peek() == null) {
+            fieldCursor.stepBack();
           }
         } else {
           fieldValueMapping = nextField;
@@ -345,37 +370,37 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
 
       } else {
 
-        if (typeFilter.matches("\\[?..]\\[.*") && !fieldValueMapping.getFieldType().endsWith("map-map") && !fieldValueMapping.getFieldType().endsWith("array-array") &&
+        if (fieldPath.typeFilterMatches(COLLECTION_OF_COLLECTIONS) && !fieldValueMapping.getFieldType().endsWith("map-map") && !fieldValueMapping.getFieldType().endsWith("array-array") &&
             !typeFilter.startsWith(".")) {
           if (checkIfMapArray(fieldValueMapping.getFieldType())) {
-            processFieldValueMappingAsSimpleMapArray(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsSimpleMapArray(fieldCursor, subEntity, fieldNameSubEntity);
           } else if (checkIfArrayMap(fieldValueMapping.getFieldType())) {
-            String mapFieldNameSubEntity = getMapCleanMethodName(fieldValueMapping, rootFieldName);
-            processFieldValueMappingAsSimpleArrayMap(fieldExpMappingsQueue, subEntity, mapFieldNameSubEntity);
+            String mapFieldNameSubEntity = fieldPath.getMapMethodName();
+            processFieldValueMappingAsSimpleArrayMap(fieldCursor, subEntity, mapFieldNameSubEntity);
           } else if (checkIfIsRecordMapArray(cleanPath)) {
-            processFieldValueMappingAsRecordMapArray(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsRecordMapArray(fieldCursor, subEntity, fieldNameSubEntity);
           } else if (checkIfIsRecordArrayMap(cleanPath)) {
-            processFieldValueMappingAsRecordArrayMap(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsRecordArrayMap(fieldCursor, subEntity, fieldNameSubEntity);
           }
         } else if (typeFilter.startsWith("[")) {
           if (checkIfMap(typeFilter, fieldValueMapping.getFieldType())) {
-            String mapFieldNameSubEntity = getMapCleanMethodName(fieldValueMapping, rootFieldName);
-            processFieldValueMappingAsSimpleMap(fieldExpMappingsQueue, subEntity, mapFieldNameSubEntity);
+            String mapFieldNameSubEntity = fieldPath.getMapMethodName();
+            processFieldValueMappingAsSimpleMap(fieldCursor, subEntity, mapFieldNameSubEntity);
           } else if (checkIfArray(typeFilter, fieldValueMapping.getFieldType())) {
-            processFieldValueMappingAsSimpleArray(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsSimpleArray(fieldCursor, subEntity, fieldNameSubEntity);
           } else if (checkIfRecordMap(cleanPath)) {
-            processFieldValueMappingAsRecordMap(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsRecordMap(fieldCursor, subEntity, fieldNameSubEntity);
           } else if (checkIfRecordArray(cleanPath)) {
-            processFieldValueMappingAsRecordArray(fieldExpMappingsQueue, subEntity, fieldNameSubEntity);
+            processFieldValueMappingAsRecordArray(fieldCursor, subEntity, fieldNameSubEntity);
           } else {
             throw new KLoadGenException("Wrong configuration Map - Array");
           }
         } else if (typeFilter.startsWith(".")) {
           subEntity.put(fieldNameSubEntity, createObject(subEntity.getSchema().getField(fieldNameSubEntity).schema(),
                                                          fieldNameSubEntity,
-                                                         fieldExpMappingsQueue));
+                                                         fieldCursor));
         } else {
-          fieldExpMappingsQueue.poll();
+          fieldCursor.poll();
           subEntity.put(fieldNameSubEntity, avroGeneratorTool.generateObject(
                             subEntity.getSchema().getField(fieldNameSubEntity),
                             fieldValueMapping,
@@ -383,7 +408,7 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
                         )
           );
         }
-        fieldValueMapping = getSafeGetElement(fieldExpMappingsQueue);
+        fieldValueMapping = getSafeGetElement(fieldCursor);
       }
     }
     return subEntity;
@@ -428,23 +453,25 @@ public class AvroSchemaProcessor extends SchemaProcessorLib {
     return isRecord;
   }
 
-  private List<GenericRecord> createObjectArray(Schema subSchema, String fieldName, Integer arraySize, ArrayDeque<FieldValueMapping> fieldExpMappingsQueue) {
+  private List<GenericRecord> createObjectArray(Schema subSchema, String fieldName, Integer arraySize, FieldCursor fieldCursor) {
     List<GenericRecord> objectArray = new ArrayList<>(arraySize);
+    int start = fieldCursor.position();
     for (int i = 0; i < arraySize - 1; i++) {
-      ArrayDeque<FieldValueMapping> temporalQueue = fieldExpMappingsQueue.clone();
-      objectArray.add(createObject(subSchema, fieldName, temporalQueue));
+      objectArray.add(createObject(subSchema, fieldName, fieldCursor));
+      fieldCursor.rewind(start);
     }
-    objectArray.add(createObject(subSchema, fieldName, fieldExpMappingsQueue));
+    objectArray.add(createObject(subSchema, fieldName, fieldCursor));
     return objectArray;
   }
 
-  private Map<String, GenericRecord> createObjectMap(Schema subSchema, String fieldName, Integer mapSize, ArrayDeque<FieldValueMapping> fieldExpMappingsQueue) {
+  private Map<String, GenericRecord> createObjectMap(Schema subSchema, String fieldName, Integer mapSize, FieldCursor fieldCursor) {
     Map<String, GenericRecord> objectMap = new HashMap<>(mapSize);
+    int start = fieldCursor.position();
     for (int i = 0; i < mapSize - 1; i++) {
-      ArrayDeque<FieldValueMapping> temporalQueue = fieldExpMappingsQueue.clone();
-      objectMap.put(generateMapKey(), createObject(subSchema, fieldName, temporalQueue));
+      objectMap.put(generateMapKey(), createObject(subSchema, fieldName, fieldCursor));
+      fieldCursor.rewind(start);
     }
-    objectMap.put(generateMapKey(), createObject(subSchema, fieldName, fieldExpMappingsQueue));
+    objectMap.put(generateMapKey(), createObject(subSchema, fieldName, fieldCursor));
     return objectMap;
   }
 
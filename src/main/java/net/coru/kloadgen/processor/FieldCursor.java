@@ -0,0 +1,72 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.processor;
+
+import java.util.NoSuchElementException;
+
+import net.coru.kloadgen.model.FieldValueMapping;
+
+/**
+ * Position in the field mappings of a schema, walked once per generated record.
+ * <p>
+ * The mappings are put in an array once per schema and every record only moves an index over it, so generating a record
+ * does not copy the mappings. Collections of records rewind the cursor to generate each element from the same mappings.
+ * Instances are confined to the processor that owns them.
+ */
+final class FieldCursor {
+
+  private final FieldValueMapping[] fields;
+
+  private int position;
+
+  FieldCursor(FieldValueMapping[] fields) {
+    this.fields = fields;
+  }
+
+  boolean isEmpty() {
+    return position >= fields.length;
+  }
+
+  FieldValueMapping peek() {
+    return isEmpty() ? null : fields[position];
+  }
+
+  FieldValueMapping element() {
+    if (isEmpty()) {
+      throw new NoSuchElementException();
+    }
+    return fields[position];
+  }
+
+  FieldValueMapping poll() {
+    FieldValueMapping fieldValueMapping = peek();
+    if (null != fieldValueMapping) {
+      position++;
+    }
+    return fieldValueMapping;
+  }
+
+  void remove() {
+    element();
+    position++;
+  }
+
+  /**
+   * Walks back to the mapping that was just taken, so that it is generated again.
+   */
+  void stepBack() {
+    position--;
+  }
+
+  int position() {
+    return position;
+  }
+
+  void rewind(int toPosition) {
+    position = toPosition;
+  }
+}
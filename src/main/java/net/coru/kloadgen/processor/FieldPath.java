@@ -0,0 +1,89 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.processor;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Path analysis of a field mapping name relative to the field being generated.
+ * <p>
+ * Each value is worked out the first time it is requested and kept afterwards, so the string and regex work needed
+ * to walk the mappings is done once per schema instead of once per record. Instances are confined to the processor
+ * that owns them.
+ */
+final class FieldPath {
+
+  private final String fullName;
+
+  private final String parentName;
+
+  private final Map<Pattern, Boolean> typeFilterMatches = new IdentityHashMap<>(4);
+
+  private String cleanPath;
+
+  private String methodName;
+
+  private String typeFilter;
+
+  private String mapMethodName;
+
+  private Boolean belongsToParent;
+
+  FieldPath(String fullName, String parentName) {
+    this.fullName = fullName;
+    this.parentName = parentName;
+  }
+
+  String getCleanPath() {
+    if (null == cleanPath) {
+      cleanPath = SchemaProcessorLib.cleanUpPath(fullName, parentName);
+    }
+    return cleanPath;
+  }
+
+  String getMethodName() {
+    if (null == methodName) {
+      methodName = SchemaProcessorLib.getCleanMethodName(getCleanPath());
+    }
+    return methodName;
+  }
+
+  String getTypeFilter() {
+    if (null == typeFilter) {
+      typeFilter = getCleanPath().replaceAll(getMethodName(), "");
+    }
+    return typeFilter;
+  }
+
+  String getMapMethodName() {
+    if (null == mapMethodName) {
+      mapMethodName = SchemaProcessorLib.getMapCleanMethodName(getCleanPath());
+    }
+    return mapMethodName;
+  }
+
+  boolean typeFilterMatches(Pattern pattern) {
+    Boolean matches = typeFilterMatches.get(pattern);
+    if (null == matches) {
+      matches = pattern.matcher(getTypeFilter()).matches();
+      typeFilterMatches.put(pattern, matches);
+    }
+    return matches;
+  }
+
+  boolean belongsToParent() {
+    if (null == belongsToParent) {
+      belongsToParent = fullName.matches(".*" + parentName + "$")
+                        || fullName.matches(parentName + "\\..*")
+                        || fullName.matches(".*" + parentName + "\\[.*")
+                        || fullName.matches(".*" + parentName + "\\..*");
+    }
+    return belongsToParent;
+  }
+}
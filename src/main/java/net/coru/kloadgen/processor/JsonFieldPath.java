@@ -0,0 +1,90 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.processor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Path analysis of a field mapping name as the {@link JsonSchemaProcessor} walks it, relative to the object being
+ * built. Values are worked out on first use and kept for the lifetime of the processor that owns the instance.
+ */
+final class JsonFieldPath {
+
+  private static final Pattern COLLECTION_PATH = Pattern.compile("[\\w\\d]+\\[.*");
+
+  private final String fullName;
+
+  private final String parentName;
+
+  private String cleanPath;
+
+  private String methodName;
+
+  private String firstPart;
+
+  private String collectionName;
+
+  private String cleanCollectionName;
+
+  private Boolean collection;
+
+  private String ancestorPath;
+
+  JsonFieldPath(String fullName, String parentName) {
+    this.fullName = fullName;
+    this.parentName = parentName;
+  }
+
+  String getCleanPath() {
+    if (null == cleanPath) {
+      cleanPath = JsonSchemaProcessor.cleanUpPath(fullName, parentName);
+    }
+    return cleanPath;
+  }
+
+  String getMethodName() {
+    if (null == methodName) {
+      methodName = JsonSchemaProcessor.getCleanMethodName(getCleanPath());
+    }
+    return methodName;
+  }
+
+  String getFirstPart() {
+    if (null == firstPart) {
+      firstPart = fullName.contains(".") ? fullName.substring(0, fullName.indexOf(".")) : fullName;
+    }
+    return firstPart;
+  }
+
+  String getCollectionName() {
+    if (null == collectionName) {
+      collectionName = JsonSchemaProcessor.getNameObjectCollection(fullName);
+    }
+    return collectionName;
+  }
+
+  String getCleanCollectionName() {
+    if (null == cleanCollectionName) {
+      cleanCollectionName = JsonSchemaProcessor.getNameObjectCollection(getCleanPath());
+    }
+    return cleanCollectionName;
+  }
+
+  boolean isCollection() {
+    if (null == collection) {
+      collection = COLLECTION_PATH.matcher(getCleanPath()).matches();
+    }
+    return collection;
+  }
+
+  String getAncestorPath() {
+    if (null == ancestorPath) {
+      ancestorPath = fullName.split(getCleanPath())[0];
+    }
+    return ancestorPath;
+  }
+}
@@ -8,8 +8,11 @@ package net.coru.kloadgen.processor;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -20,13 +23,32 @@ import lombok.SneakyThrows;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.randomtool.generator.StatelessGeneratorTool;
-import org.apache.commons.lang3.RandomUtils;
+import net.coru.kloadgen.randomtool.random.RandomSource;
 import org.apache.commons.lang3.StringUtils;
 
+/**
+ * Generates JSON records from the field mappings of a schema.
+ * <p>
+ * Records are built as {@link ObjectNode} trees rather than streamed as tokens. Walking the mappings can come back to
+ * a field it already wrote, which replaces the earlier value, and objects are dropped after their children were
+ * generated when they end up empty. A tree keeps both cases cheap to undo.
+ */
 public class JsonSchemaProcessor {
 
   private static final ObjectMapper mapper = new ObjectMapper();
 
+  private static final Pattern NESTED_PATH_PREFIX = Pattern.compile("^(\\d*:*]).*$");
+
+  private static final Pattern ARRAY_INDEX = Pattern.compile("\\[[0-9]*]");
+
+  private static final Pattern OBJECT_COLLECTION = Pattern.compile("[\\w\\d]*[\\[\\:*\\]]*\\[\\:*\\]\\.[\\w\\d]*.*");
+
+  private static final int UNDECLARED_SIZE = -1;
+
+  private final Map<String, Map<String, JsonFieldPath>> fieldPaths = new HashMap<>();
+
+  private final Map<String, Map<String, Integer>> declaredSizes = new HashMap<>();
+
   private List<FieldValueMapping> fieldExprMappings;
 
   private StatelessGeneratorTool statelessGeneratorTool;
@@ -34,6 +56,30 @@ public class JsonSchemaProcessor {
   public void processSchema(List<FieldValueMapping> fieldExprMappings) {
     this.fieldExprMappings = fieldExprMappings;
     statelessGeneratorTool = new StatelessGeneratorTool();
+    compile();
+  }
+
+  private void compile() {
+    fieldPaths.clear();
+    declaredSizes.clear();
+    if (Objects.nonNull(fieldExprMappings)) {
+      for (FieldValueMapping fieldValueMapping : fieldExprMappings) {
+        JsonFieldPath fieldPath = fieldPath(fieldValueMapping, "");
+        fieldPath.getMethodName();
+        fieldPath.getFirstPart();
+        fieldPath.getCollectionName();
+      }
+    }
+  }
+
+  private JsonFieldPath fieldPath(FieldValueMapping fieldValueMapping, String parentName) {
+    Map<String, JsonFieldPath> parentPaths = fieldPaths.computeIfAbsent(parentName, name -> new HashMap<>());
+    JsonFieldPath fieldPath = parentPaths.get(fieldValueMapping.getFieldName());
+    if (null == fieldPath) {
+      fieldPath = new JsonFieldPath(fieldValueMapping.getFieldName(), parentName);
+      parentPaths.put(fieldValueMapping.getFieldName(), fieldPath);
+    }
+    return fieldPath;
   }
 
   @SneakyThrows
@@ -48,12 +94,13 @@ public class JsonSchemaProcessor {
       int elapsedProperties = 0;
 
       while (!fieldExpMappingsQueue.isEmpty()) {
-        String fieldName = getCleanMethodName(fieldValueMapping, "");
+        JsonFieldPath fieldPath = fieldPath(Objects.requireNonNull(fieldValueMapping), "");
+        String fieldName = fieldPath.getMethodName();
 
         if ((fieldExpMappingsQueueCopy.peek() == null || !fieldExpMappingsQueueCopy.peek().getFieldName().contains(fieldName))
             && (generatedProperties == elapsedProperties && generatedProperties > 0) && Objects.requireNonNull(fieldValueMapping).getAncestorRequired()) {
           fieldValueMapping.setRequired(true);
-          List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+          List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
           temporalFieldValueList.remove("null");
           fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
 
@@ -68,7 +115,7 @@ public class JsonSchemaProcessor {
         }
         generatedProperties++;
 
-        if (checkIfObjectNullNotRequired(Objects.requireNonNull(fieldValueMapping), cleanUpPath(fieldValueMapping, ""))) {
+        if (checkIfObjectNullNotRequired(Objects.requireNonNull(fieldValueMapping), fieldPath.getCleanPath())) {
           elapsedProperties++;
           fieldExpMappingsQueueCopy = fieldExpMappingsQueue.clone();
           fieldExpMappingsQueue.remove();
@@ -77,14 +124,14 @@ public class JsonSchemaProcessor {
 
           if (fieldExpMappingsQueue.isEmpty() && elapsedProperties == generatedProperties && fieldValueMappingCopy.getAncestorRequired()) {
             fieldValueMappingCopy.setRequired(true);
-            List<String> temporalFieldValueList = fieldValueMappingCopy.getFieldValuesList();
+            List<String> temporalFieldValueList = new ArrayList<>(fieldValueMappingCopy.getFieldValuesList());
             temporalFieldValueList.remove("null");
             fieldValueMappingCopy.setFieldValuesList(temporalFieldValueList.toString());
             fieldExpMappingsQueue = fieldExpMappingsQueueCopy.clone();
             fieldValueMapping = fieldValueMappingCopy;
 
           } else if (fieldExpMappingsQueue != null && !fieldExpMappingsQueue.isEmpty()
-                     && !getNameObjectCollection(fieldExpMappingsQueueCopy.peek().getFieldName()).contains(getNameObjectCollection(fieldExpMappingsQueue.peek().getFieldName()))
+                     && !fieldPath(fieldExpMappingsQueueCopy.peek(), "").getCollectionName().contains(fieldPath(fieldExpMappingsQueue.peek(), "").getCollectionName())
                      && elapsedProperties == generatedProperties && fieldValueMappingCopy.getAncestorRequired()) {
             fieldValueMapping = fieldExpMappingsQueueCopy.peek();
             fieldValueMapping.setRequired(true);
@@ -96,10 +143,10 @@ public class JsonSchemaProcessor {
 
         } else {
 
-          String fieldNameProcessed = getFirstPartOfFieldValueMappingName(fieldValueMapping);
+          String fieldNameProcessed = fieldPath.getFirstPart();
 
           if (fieldNameProcessed.contains("[")) {
-            String completeFieldName = getNameObjectCollection(fieldValueMapping.getFieldName());
+            String completeFieldName = fieldPath.getCollectionName();
             if (completeFieldName.contains("].")) {
               if (fieldExpMappingsQueueCopy.peek() == null || !fieldExpMappingsQueueCopy.peek().getFieldName().contains(fieldName)) {
                 generatedProperties = 0;
@@ -115,7 +162,7 @@ public class JsonSchemaProcessor {
             }
             fieldValueMapping = getSafeGetElement(fieldExpMappingsQueue);
             fieldExpMappingsQueueCopy.poll();
-          } else if (cleanUpPath(fieldValueMapping, "").contains(".")) {
+          } else if (fieldPath.getCleanPath().contains(".")) {
 
             ObjectNode createdObject = createObject(fieldName, fieldExpMappingsQueue);
             if (!createdObject.isEmpty()) {
@@ -126,11 +173,8 @@ public class JsonSchemaProcessor {
           } else {
 
             entity.putPOJO(Objects.requireNonNull(fieldValueMapping).getFieldName(),
-                           mapper.convertValue(
-                               statelessGeneratorTool.generateObject(fieldName,
-                                                                     fieldValueMapping.getFieldType(),
-                                                                     fieldValueMapping.getValueLength(),
-                                                                     fieldValueMapping.getFieldValuesList()), JsonNode.class));
+                           toJsonNode(
+                               statelessGeneratorTool.generateObject(fieldName, fieldValueMapping)));
             fieldExpMappingsQueue.remove();
             fieldValueMapping = fieldExpMappingsQueue.peek();
             fieldExpMappingsQueueCopy.poll();
@@ -159,7 +203,8 @@ public class JsonSchemaProcessor {
 
       fieldExpMappingsQueueCopyCopy.poll();
       fieldExpMappingsQueueCopy.poll();
-      String cleanFieldName = cleanUpPath(fieldValueMapping, fieldName);
+      JsonFieldPath fieldPath = fieldPath(Objects.requireNonNull(fieldValueMapping), fieldName);
+      String cleanFieldName = fieldPath.getCleanPath();
       generatedProperties++;
 
       if (checkIfObjectOptional(fieldValueMapping, cleanFieldName)) {
@@ -173,12 +218,12 @@ public class JsonSchemaProcessor {
         if ((nextField == null && Objects.requireNonNull(actualField).getAncestorRequired()
              && (generatedProperties == elapsedProperties && generatedProperties > 0))) {
 
-          if (fieldValueMapping.getFieldName().split(cleanFieldName)[0].endsWith("[].") || fieldValueMapping.getFieldName().split(cleanFieldName)[0].endsWith("[:].")) {
+          if (fieldPath.getAncestorPath().endsWith("[].") || fieldPath.getAncestorPath().endsWith("[:].")) {
             fieldValueMapping = null;
           } else {
             fieldValueMapping = actualField;
             fieldValueMapping.setRequired(true);
-            List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+            List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
             temporalFieldValueList.remove("null");
             fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
             fieldExpMappingsQueueCopyCopy = new ArrayDeque<>(fieldExpMappingsQueueCopy);
@@ -199,16 +244,16 @@ public class JsonSchemaProcessor {
                     && (generatedProperties == elapsedProperties && generatedProperties > 0))) {
 
           if (fieldValueMapping.getFieldName().contains(".")) {
-            String ancestorName = fieldValueMapping.getFieldName().substring(0, fieldValueMapping.getFieldName().indexOf("."));
+            String ancestorName = fieldPath.getFirstPart();
             if (Objects.requireNonNull(nextField).getFieldName().contains(ancestorName)) {
               fieldValueMapping = nextField;
             } else {
-              if (fieldValueMapping.getFieldName().split(cleanFieldName)[0].endsWith("[].") || fieldValueMapping.getFieldName().split(cleanFieldName)[0].endsWith("[:].")) {
+              if (fieldPath.getAncestorPath().endsWith("[].") || fieldPath.getAncestorPath().endsWith("[:].")) {
                 fieldValueMapping = nextField;
               } else {
                 fieldValueMapping = actualField;
                 fieldValueMapping.setRequired(true);
-                List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+                List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
                 temporalFieldValueList.remove("null");
                 fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
               }
@@ -216,7 +261,7 @@ public class JsonSchemaProcessor {
           } else {
             fieldValueMapping = actualField;
             fieldValueMapping.setRequired(true);
-            List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+            List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
             temporalFieldValueList.remove("null");
             fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
           }
@@ -226,17 +271,17 @@ public class JsonSchemaProcessor {
         }
       } else {
 
-        if (cleanFieldName.matches("[\\w\\d]+\\[.*")) {
-          String completeFieldName = getNameObjectCollection(cleanFieldName);
+        if (fieldPath.isCollection()) {
+          String completeFieldName = fieldPath.getCleanCollectionName();
           if (completeFieldName.contains("].")) {
-            String fieldNameSubEntity = getCleanMethodName(fieldValueMapping, fieldName);
+            String fieldNameSubEntity = fieldPath.getMethodName();
             operationsObjectCollections(completeFieldName, subEntity, fieldValueMapping, fieldNameSubEntity, fieldExpMappingsQueue);
           } else {
             operationsCollections(completeFieldName, subEntity, fieldValueMapping, fieldName, fieldExpMappingsQueue);
           }
 
         } else if (cleanFieldName.contains(".")) {
-          String fieldNameSubEntity = getCleanMethodName(fieldValueMapping, fieldName);
+          String fieldNameSubEntity = fieldPath.getMethodName();
           ObjectNode createdObject = createObject(fieldNameSubEntity, fieldExpMappingsQueue);
           if (!createdObject.isEmpty()) {
             subEntity.set(fieldNameSubEntity, createdObject);
@@ -245,11 +290,8 @@ public class JsonSchemaProcessor {
 
           fieldExpMappingsQueue.poll();
           subEntity.putPOJO(cleanFieldName,
-                            mapper.convertValue(
-                                statelessGeneratorTool.generateObject(cleanFieldName,
-                                                                      Objects.requireNonNull(fieldValueMapping).getFieldType(),
-                                                                      fieldValueMapping.getValueLength(),
-                                                                      fieldValueMapping.getFieldValuesList()), JsonNode.class));
+                            toJsonNode(
+                                statelessGeneratorTool.generateObject(cleanFieldName, Objects.requireNonNull(fieldValueMapping))));
         }
         fieldValueMapping = getSafeGetElement(fieldExpMappingsQueue);
       }
@@ -376,8 +418,38 @@ public class JsonSchemaProcessor {
     return mapper.convertValue(statelessGeneratorTool.generateMap(fieldType, arraySize, fieldExpMappings, arraySize), ArrayNode.class);
   }
 
+  private JsonNode toJsonNode(Object value) {
+    JsonNode node;
+    if (null == value) {
+      node = null;
+    } else if (value instanceof String) {
+      node = JsonNodeFactory.instance.textNode((String) value);
+    } else if (value instanceof Integer) {
+      node = JsonNodeFactory.instance.numberNode((Integer) value);
+    } else if (value instanceof Long) {
+      node = JsonNodeFactory.instance.numberNode((Long) value);
+    } else if (value instanceof Double) {
+      node = JsonNodeFactory.instance.numberNode((Double) value);
+    } else if (value instanceof Boolean) {
+      node = JsonNodeFactory.instance.booleanNode((Boolean) value);
+    } else {
+      node = mapper.convertValue(value, JsonNode.class);
+    }
+    return node;
+  }
+
   private Integer calculateSize(String fieldName, String methodName) {
-    int arrayLength = RandomUtils.nextInt(1, 10);
+    Map<String, Integer> sizesByField = declaredSizes.computeIfAbsent(methodName, name -> new HashMap<>());
+    Integer arrayLength = sizesByField.get(fieldName);
+    if (null == arrayLength) {
+      arrayLength = parseDeclaredSize(fieldName, methodName);
+      sizesByField.put(fieldName, arrayLength);
+    }
+    return UNDECLARED_SIZE == arrayLength ? RandomSource.nextInt(1, 10) : arrayLength;
+  }
+
+  private static int parseDeclaredSize(String fieldName, String methodName) {
+    int arrayLength = UNDECLARED_SIZE;
     String tempString = fieldName.substring(
         fieldName.lastIndexOf(methodName));
     String arrayLengthStr = StringUtils.substringBetween(tempString, "[", "]");
@@ -391,29 +463,28 @@ public class JsonSchemaProcessor {
     return !fieldExpMappingsQueue.isEmpty() ? fieldExpMappingsQueue.element() : null;
   }
 
-  private String cleanUpPath(FieldValueMapping fieldValueMapping, String fieldName) {
+  static String cleanUpPath(String fullFieldName, String fieldName) {
     int startPosition = 0;
     String cleanPath;
     if (StringUtils.isNotEmpty(fieldName)) {
-      startPosition = fieldValueMapping.getFieldName().indexOf(fieldName) + fieldName.length() + 1;
+      startPosition = fullFieldName.indexOf(fieldName) + fieldName.length() + 1;
     }
-    cleanPath = fieldValueMapping.getFieldName().substring(startPosition);
+    cleanPath = fullFieldName.substring(startPosition);
 
-    if (cleanPath.matches("^(\\d*:*]).*$")) {
+    if (NESTED_PATH_PREFIX.matcher(cleanPath).matches()) {
       cleanPath = cleanPath.substring(cleanPath.indexOf(".") + 1);
     }
     return cleanPath;
   }
 
-  private String getCleanMethodName(FieldValueMapping fieldValueMapping, String fieldName) {
-    String pathToClean = cleanUpPath(fieldValueMapping, fieldName);
+  static String getCleanMethodName(String pathToClean) {
     int endOfField = pathToClean.contains(".") ?
         pathToClean.indexOf(".") : pathToClean.contains("[") ? pathToClean.indexOf("[") : pathToClean.length();
-    return pathToClean.substring(0, endOfField).replaceAll("\\[[0-9]*]", "");
+    return ARRAY_INDEX.matcher(pathToClean.substring(0, endOfField)).replaceAll("");
   }
 
-  private String getNameObjectCollection(String fieldName) {
-    return fieldName.matches("[\\w\\d]*[\\[\\:*\\]]*\\[\\:*\\]\\.[\\w\\d]*.*") ?
+  static String getNameObjectCollection(String fieldName) {
+    return OBJECT_COLLECTION.matcher(fieldName).matches() ?
         fieldName.substring(0, fieldName.indexOf(".") + 1) : fieldName;
   }
 
@@ -508,7 +579,7 @@ public class JsonSchemaProcessor {
     if (fieldName != null && !field.getAncestorRequired() && field.getFieldValuesList().contains("null") && (fieldName.contains("["))) {
       return true;
     }
-    return fieldName != null ? checkIfObjectNullNotRequired(field, fieldName) : checkIfObjectNullNotRequired(field, cleanUpPath(field, ""));
+    return fieldName != null ? checkIfObjectNullNotRequired(field, fieldName) : checkIfObjectNullNotRequired(field, fieldPath(field, "").getCleanPath());
 
   }
 
@@ -8,9 +8,11 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Descriptors.DescriptorValidationException;
@@ -34,6 +36,12 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
 
   public static final String STRING_TYPE = "string";
 
+  private static final Pattern ROOT_COLLECTION_OF_COLLECTIONS = Pattern.compile("\\[.*]\\[.*");
+
+  private static final Pattern COLLECTION_OF_COLLECTIONS = Pattern.compile("\\[.]\\[.*");
+
+  private final Map<Descriptors.Descriptor, Map<String, FieldDescriptor>> fieldsByDescriptor = new IdentityHashMap<>();
+
   private Descriptors.Descriptor schema;
 
   private SchemaMetadata metadata;
@@ -53,6 +61,8 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
     this.metadata = metadata;
     randomObject = new RandomObject();
     generatorTool = new ProtoBufGeneratorTool();
+    randomMap = new RandomMap();
+    compile();
   }
 
   public void processSchema(ParsedSchema parsedSchema, SchemaMetadata metadata, List<FieldValueMapping> fieldExprMappings)
@@ -63,6 +73,32 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
     randomObject = new RandomObject();
     generatorTool = new ProtoBufGeneratorTool();
     randomMap = new RandomMap();
+    compile();
+  }
+
+  private void compile() {
+    fieldsByDescriptor.clear();
+    indexFields(schema);
+    compileFieldPaths(fieldExprMappings);
+  }
+
+  private Map<String, FieldDescriptor> indexFields(Descriptors.Descriptor descriptor) {
+    Map<String, FieldDescriptor> fields = fieldsByDescriptor.get(descriptor);
+    if (null == fields) {
+      fields = new HashMap<>();
+      fieldsByDescriptor.put(descriptor, fields);
+      for (FieldDescriptor field : descriptor.getFields()) {
+        fields.put(field.getName(), field);
+        if (MESSAGE.equals(field.getType())) {
+          indexFields(field.getMessageType());
+        }
+      }
+    }
+    return fields;
+  }
+
+  private FieldDescriptor findField(Descriptors.Descriptor descriptor, String fieldName) {
+    return indexFields(descriptor).get(fieldName);
   }
 
   public EnrichedRecord next() {
@@ -79,15 +115,16 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
       int elapsedProperties = 0;
 
       while (!fieldExpMappingsQueue.isEmpty()) {
-        String methodName = cleanUpPath(fieldValueMapping, "");
-        String fieldName = getCleanMethodName(fieldValueMapping, "");
-        String typeFilter = methodName.replaceAll(fieldName, "");
+        FieldPath fieldPath = fieldPath(fieldValueMapping, "");
+        String methodName = fieldPath.getCleanPath();
+        String fieldName = fieldPath.getMethodName();
+        String typeFilter = fieldPath.getTypeFilter();
         String fieldType = fieldValueMapping.getFieldType();
 
         if ((fieldExpMappingsQueueCopy.peek() == null || !fieldExpMappingsQueueCopy.peek().getFieldName().contains(fieldName))
             && (generatedProperties == elapsedProperties && generatedProperties > 0) && fieldValueMapping.getAncestorRequired()) {
           fieldValueMapping.setRequired(true);
-          List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+          List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
           temporalFieldValueList.remove("null");
           fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
           fieldExpMappingsQueueCopy.poll();
@@ -103,7 +140,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
           fieldExpMappingsQueue.remove();
         } else {
 
-          if (typeFilter.matches("\\[.*]\\[.*") && !fieldType.endsWith("map-map") && !fieldType.endsWith("array-array")) {
+          if (fieldPath.typeFilterMatches(ROOT_COLLECTION_OF_COLLECTIONS) && !fieldType.endsWith("map-map") && !fieldType.endsWith("array-array")) {
             if (checkIfIsRecordMapArray(methodName)) {
               processFieldValueMappingAsRecordMapArray(fieldExpMappingsQueue, messageBuilder, fieldName);
             } else if (checkIfIsRecordArrayMap(methodName)) {
@@ -128,7 +165,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
               throw new KLoadGenException("Wrong configuration Map - Array");
             }
           } else if (typeFilter.startsWith(".")) {
-            String fieldNameSubEntity = getCleanMethodName(fieldValueMapping, "");
+            String fieldNameSubEntity = fieldPath.getMethodName();
             messageBuilder.setField(getFieldDescriptorForField(messageBuilder, fieldName),
                                     createObject(getDescriptorForField(messageBuilder, fieldNameSubEntity), fieldNameSubEntity, fieldExpMappingsQueue));
           } else {
@@ -144,7 +181,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
   }
 
   private boolean isOptionalField(final Builder messageBuilder, final String fieldName) {
-    return messageBuilder.getDescriptorForType().findFieldByName(fieldName).isOptional();
+    return findField(messageBuilder.getDescriptorForType(), fieldName).isOptional();
   }
 
   private Object createFieldObject(Descriptors.Descriptor descriptor) {
@@ -168,20 +205,19 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
     int elapsedProperties = 0;
 
     while (!fieldExpMappingsQueue.isEmpty()
-           && (Objects.requireNonNull(fieldValueMapping).getFieldName().matches(".*" + parentFieldName + "$")
-               || fieldValueMapping.getFieldName().matches(parentFieldName + "\\..*")
-               || fieldValueMapping.getFieldName().matches(".*" + parentFieldName + "\\[.*")
-               || fieldValueMapping.getFieldName().matches(".*" + parentFieldName + "\\..*"))) {
-      String methodName = cleanUpPath(fieldValueMapping, parentFieldName);
-      String fieldName = getCleanMethodName(fieldValueMapping, parentFieldName);
-      String collectionTail = methodName.replaceAll(fieldName, "");
+           && fieldPath(Objects.requireNonNull(fieldValueMapping), parentFieldName).belongsToParent()) {
+      FieldPath fieldPath = fieldPath(fieldValueMapping, parentFieldName);
+      String methodName = fieldPath.getCleanPath();
+      String fieldName = fieldPath.getMethodName();
+      String collectionTail = fieldPath.getTypeFilter();
       String fieldType = fieldValueMapping.getFieldType();
+      FieldDescriptor subFieldDescriptor = findField(subMessageDescriptor, fieldName);
 
       generatedProperties++;
 
-      if ((((MESSAGE.equals(subMessageDescriptor.findFieldByName(fieldName).getType()) ||
-             subMessageDescriptor.findFieldByName(fieldName).isRepeated() ||
-             subMessageDescriptor.findFieldByName(fieldName).isMapField()) &&
+      if ((((MESSAGE.equals(subFieldDescriptor.getType()) ||
+             subFieldDescriptor.isRepeated() ||
+             subFieldDescriptor.isMapField()) &&
             isOptionalField(messageBuilder, fieldName)))
           && fieldValueMapping.getFieldValuesList().contains("null")) {
 
@@ -196,7 +232,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
 
           fieldValueMapping = actualField;
           fieldValueMapping.setRequired(true);
-          List<String> temporalFieldValueList = fieldValueMapping.getFieldValuesList();
+          List<String> temporalFieldValueList = new ArrayList<>(fieldValueMapping.getFieldValuesList());
           temporalFieldValueList.remove("null");
           fieldValueMapping.setFieldValuesList(temporalFieldValueList.toString());
           if (fieldExpMappingsQueue.peek() == null) {
@@ -207,7 +243,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
         }
       } else {
 
-        if (collectionTail.matches("\\[.]\\[.*") && !fieldType.endsWith("map-map") && !fieldType.endsWith("array-array")) {
+        if (fieldPath.typeFilterMatches(COLLECTION_OF_COLLECTIONS) && !fieldType.endsWith("map-map") && !fieldType.endsWith("array-array")) {
           if (checkIfIsRecordMapArray(methodName)) {
             processFieldValueMappingAsRecordMapArray(fieldExpMappingsQueue, messageBuilder, fieldName);
           } else if (checkIfIsRecordArrayMap(methodName)) {
@@ -228,8 +264,8 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
             processFieldValueMappingAsSimpleArray(fieldExpMappingsQueue, messageBuilder, parentFieldName, fieldName);
           }
         } else if (collectionTail.startsWith(".")) {
-          String fieldNameSubEntity = getCleanMethodName(fieldValueMapping, parentFieldName);
-          messageBuilder.setField(messageBuilder.getDescriptorForType().findFieldByName(fieldName),
+          String fieldNameSubEntity = fieldPath.getMethodName();
+          messageBuilder.setField(getFieldDescriptorForField(messageBuilder, fieldName),
                                   createObject(getDescriptorForField(messageBuilder, fieldNameSubEntity),
                                                fieldNameSubEntity,
                                                fieldExpMappingsQueue));
@@ -245,7 +281,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
   }
 
   private void generateObject(final Builder messageBuilder, final FieldValueMapping fieldValueMapping, final String fieldName) {
-    var descriptor = messageBuilder.getDescriptorForType().findFieldByName(fieldName);
+    var descriptor = getFieldDescriptorForField(messageBuilder, fieldName);
     if (MESSAGE.equals(descriptor.getType())) {
       messageBuilder.setField(descriptor, createFieldObject(descriptor.getMessageType()));
     } else if (ENUM.equals(descriptor.getType())) {
@@ -256,14 +292,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
                                                            fieldValueMapping.getFieldValuesList())
       );
     } else {
-      messageBuilder.setField(descriptor,
-                              generatorTool.generateObject(descriptor,
-                                                           fieldValueMapping.getFieldType(),
-                                                           fieldValueMapping.getValueLength(),
-                                                           fieldValueMapping.getFieldValuesList(),
-                                                           fieldValueMapping.getConstrains()
-                              )
-      );
+      messageBuilder.setField(descriptor, generatorTool.generateObject(descriptor, fieldValueMapping));
     }
   }
 
@@ -276,7 +305,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
   private void processFieldValueMappingAsRecordMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, DynamicMessage.Builder messageBuilder, String fieldName) {
     FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
     Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldName);
-    messageBuilder.setField(messageBuilder.getDescriptorForType().findFieldByName(fieldName), createObjectMap(messageBuilder,
+    messageBuilder.setField(getFieldDescriptorForField(messageBuilder, fieldName), createObjectMap(messageBuilder,
                                                                                                               fieldName,
                                                                                                               mapSize,
                                                                                                               fieldExpMappingsQueue));
@@ -285,7 +314,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
   private void processFieldValueMappingAsSimpleArray(
       ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, DynamicMessage.Builder messageBuilder, String typeName, String fieldName) {
     FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    final FieldDescriptor fieldDescriptor = messageBuilder.getDescriptorForType().findFieldByName(fieldName);
+    final FieldDescriptor fieldDescriptor = getFieldDescriptorForField(messageBuilder, fieldName);
     if (Objects.nonNull(fieldDescriptor) && MESSAGE.equals(fieldDescriptor.getType())) {
       log.info(fieldName);
       messageBuilder.setField(fieldDescriptor, createObject(fieldDescriptor.getMessageType(), typeName, fieldExpMappingsQueue));
@@ -303,7 +332,7 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
 
   private void processFieldValueMappingAsSimpleMap(ArrayDeque<FieldValueMapping> fieldExpMappingsQueue, DynamicMessage.Builder messageBuilder, String fieldName) {
     FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
-    Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), getCleanMethodName(fieldValueMapping, fieldName));
+    Integer mapSize = calculateMapSize(fieldValueMapping.getFieldName(), fieldPath(fieldValueMapping, fieldName).getMethodName());
     messageBuilder.setField(getFieldDescriptorForField(messageBuilder, fieldName),
                             createSimpleObjectMap(messageBuilder, fieldName, mapSize, fieldExpMappingsQueue)
     );
@@ -411,10 +440,10 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
 
   private Message buildMapEntry(Descriptors.FieldDescriptor descriptor, String fieldName, ArrayDeque<FieldValueMapping> fieldExpMappingsQueue) {
     DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor.getMessageType());
-    Descriptors.FieldDescriptor keyFieldDescriptor = descriptor.getMessageType().findFieldByName("key");
+    Descriptors.FieldDescriptor keyFieldDescriptor = findField(descriptor.getMessageType(), "key");
     builder.setField(keyFieldDescriptor,
                      randomObject.generateRandom(STRING_TYPE, 10, Collections.emptyList(), Collections.emptyMap()));
-    Descriptors.FieldDescriptor valueFieldDescriptor = descriptor.getMessageType().findFieldByName("value");
+    Descriptors.FieldDescriptor valueFieldDescriptor = findField(descriptor.getMessageType(), "value");
     if (valueFieldDescriptor.getType().equals(ENUM)) {
       List<String> fieldValueMappings = new ArrayList<>();
       for (Descriptors.EnumValueDescriptor value : valueFieldDescriptor.getEnumType().getValues()) {
@@ -433,9 +462,9 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
     FieldValueMapping fieldValueMapping = fieldExpMappingsQueue.element();
     String fieldValueMappingCleanType = fieldValueMapping.getFieldType().substring(0, fieldValueMapping.getFieldType().indexOf("-map"));
     DynamicMessage.Builder builder = DynamicMessage.newBuilder(descriptor.getMessageType());
-    Descriptors.FieldDescriptor keyFieldDescriptor = descriptor.getMessageType().findFieldByName("key");
+    Descriptors.FieldDescriptor keyFieldDescriptor = findField(descriptor.getMessageType(), "key");
     builder.setField(keyFieldDescriptor, randomObject.generateRandom(STRING_TYPE, 10, Collections.emptyList(), Collections.emptyMap()));
-    Descriptors.FieldDescriptor valueFieldDescriptor = descriptor.getMessageType().findFieldByName("value");
+    Descriptors.FieldDescriptor valueFieldDescriptor = findField(descriptor.getMessageType(), "value");
     if (valueFieldDescriptor.getType().equals(ENUM)) {
       List<String> fieldValueMappings = new ArrayList<>();
       for (Descriptors.EnumValueDescriptor value : valueFieldDescriptor.getEnumType().getValues()) {
@@ -455,11 +484,11 @@ public class ProtobufSchemaProcessor extends SchemaProcessorLib {
   }
 
   private Descriptors.Descriptor getDescriptorForField(DynamicMessage.Builder messageBuilder, String typeName) {
-    return messageBuilder.getDescriptorForType().findFieldByName(typeName).getMessageType();
+    return findField(messageBuilder.getDescriptorForType(), typeName).getMessageType();
   }
 
   private Descriptors.FieldDescriptor getFieldDescriptorForField(DynamicMessage.Builder messageBuilder, String typeName) {
-    return messageBuilder.getDescriptorForType().findFieldByName(typeName);
+    return findField(messageBuilder.getDescriptorForType(), typeName);
   }
 
 }
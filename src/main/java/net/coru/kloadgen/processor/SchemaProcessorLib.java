@@ -19,12 +19,26 @@ import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.randomtool.random.RandomArray;
 import net.coru.kloadgen.randomtool.random.RandomMap;
 import net.coru.kloadgen.randomtool.random.RandomObject;
-import org.apache.commons.lang3.RandomUtils;
+import net.coru.kloadgen.randomtool.random.RandomSource;
+import net.coru.kloadgen.randomtool.util.ValueUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.jmeter.threads.JMeterContextService;
 
 public abstract class SchemaProcessorLib {
 
+  private static final Pattern NESTED_PATH_PREFIX = Pattern.compile("^(\\d*:*]).*$");
+
+  private static final Pattern COLLECTION_INDEX = Pattern.compile("\\[[0-9]*:?]");
+
+  private static final Pattern ARRAY_SIZE = Pattern.compile("\\[\\d*]");
+
+  private static final Pattern MAP_SIZE = Pattern.compile("\\[\\d*:]");
+
+  private static final Pattern MAP_TYPE_FILTER = Pattern.compile("\\[\\d?:]");
+
+  private static final Pattern ARRAY_TYPE_FILTER = Pattern.compile("\\[\\d?]");
+
+  private static final int UNDECLARED_SIZE = -1;
+
   private static final Map<String, Object> context = new HashMap<>();
 
   private static final RandomObject randomObject = new RandomObject();
@@ -33,6 +47,32 @@ public abstract class SchemaProcessorLib {
 
   private static final RandomArray randomArray = new RandomArray();
 
+  private final Map<String, Map<String, FieldPath>> fieldPaths = new HashMap<>();
+
+  private final Map<String, Map<String, Integer>> declaredArraySizes = new HashMap<>();
+
+  private final Map<String, Map<String, Integer>> declaredMapSizes = new HashMap<>();
+
+  void compileFieldPaths(List<FieldValueMapping> fieldExprMappings) {
+    fieldPaths.clear();
+    if (null != fieldExprMappings) {
+      for (FieldValueMapping fieldValueMapping : fieldExprMappings) {
+        FieldPath fieldPath = fieldPath(fieldValueMapping, "");
+        fieldPath.getTypeFilter();
+      }
+    }
+  }
+
+  FieldPath fieldPath(FieldValueMapping fieldValueMapping, String parentName) {
+    Map<String, FieldPath> parentPaths = fieldPaths.computeIfAbsent(parentName, name -> new HashMap<>());
+    FieldPath fieldPath = parentPaths.get(fieldValueMapping.getFieldName());
+    if (null == fieldPath) {
+      fieldPath = new FieldPath(fieldValueMapping.getFieldName(), parentName);
+      parentPaths.put(fieldValueMapping.getFieldName(), fieldPath);
+    }
+    return fieldPath;
+  }
+
   static boolean checkIfIsRecordMapArray(String cleanPath) {
     var indexOfArrayIdentifier = StringUtils.substring(cleanPath, cleanPath.indexOf("["), cleanPath.indexOf(":]"));
     return indexOfArrayIdentifier.contains("][");
@@ -54,11 +94,11 @@ public abstract class SchemaProcessorLib {
 
   static boolean checkIfMap(String typeFilter, String fieldType) {
 
-    return typeFilter.matches("\\[\\d?:]") || fieldType.endsWith("map-map");
+    return MAP_TYPE_FILTER.matcher(typeFilter).matches() || fieldType.endsWith("map-map");
   }
 
   static boolean checkIfArray(String typeFilter, String fieldType) {
-    return typeFilter.matches("\\[\\d?]") || fieldType.endsWith("array-array");
+    return ARRAY_TYPE_FILTER.matcher(typeFilter).matches() || fieldType.endsWith("array-array");
   }
 
   static boolean checkIfArrayMap(String type) {
@@ -73,16 +113,39 @@ public abstract class SchemaProcessorLib {
     return !fieldExpMappingsQueue.isEmpty() ? fieldExpMappingsQueue.element() : null;
   }
 
-  static Integer calculateSize(String fieldName, String methodName) {
-    int arrayLength = RandomUtils.nextInt(1, 10);
+  static FieldValueMapping getSafeGetElement(FieldCursor fieldCursor) {
+    return fieldCursor.peek();
+  }
+
+  Integer calculateSize(String fieldName, String methodName) {
+    int arrayLength = declaredSize(declaredArraySizes, fieldName, methodName, false);
+    return UNDECLARED_SIZE == arrayLength ? RandomSource.nextInt(1, 10) : arrayLength;
+  }
+
+  Integer calculateMapSize(String fieldName, String methodName) {
+    int mapSize = declaredSize(declaredMapSizes, fieldName, methodName, true);
+    return UNDECLARED_SIZE == mapSize ? RandomSource.nextInt(1, 10) : mapSize;
+  }
+
+  private static int declaredSize(Map<String, Map<String, Integer>> declaredSizes, String fieldName, String methodName, boolean isMap) {
+    Map<String, Integer> sizesByField = declaredSizes.computeIfAbsent(methodName, name -> new HashMap<>());
+    Integer size = sizesByField.get(fieldName);
+    if (null == size) {
+      size = isMap ? parseDeclaredMapSize(fieldName, methodName) : parseDeclaredArraySize(fieldName, methodName);
+      sizesByField.put(fieldName, size);
+    }
+    return size;
+  }
+
+  private static int parseDeclaredArraySize(String fieldName, String methodName) {
+    int arrayLength = UNDECLARED_SIZE;
     int start = fieldName.contains(methodName) ? fieldName.indexOf(methodName) : 0;
     String tempString = fieldName.substring(start,
                                             fieldName.lastIndexOf(methodName));
 
     tempString = tempString.isEmpty() ? fieldName.replace(methodName, "") : !tempString.contains("[") ? StringUtils.substringAfterLast(fieldName, methodName) : tempString;
     String arrayStringSize = "";
-    Pattern pattern = Pattern.compile("\\[\\d*]");
-    Matcher matcher = pattern.matcher(tempString);
+    Matcher matcher = ARRAY_SIZE.matcher(tempString);
     while (matcher.find()) {
       arrayStringSize = matcher.group();
     }
@@ -93,15 +156,14 @@ public abstract class SchemaProcessorLib {
     return arrayLength;
   }
 
-  static Integer calculateMapSize(String fieldName, String methodName) {
-    int mapSize = RandomUtils.nextInt(1, 10);
+  private static int parseDeclaredMapSize(String fieldName, String methodName) {
+    int mapSize = UNDECLARED_SIZE;
     int start = fieldName.contains(methodName) ? fieldName.indexOf(methodName) : 0;
     String tempString = fieldName.substring(start,
                                             fieldName.lastIndexOf(methodName));
     tempString = tempString.isEmpty() ? fieldName.replace(methodName, "") : tempString;
     String mapStringSize = "";
-    Pattern pattern = Pattern.compile("\\[\\d*:]");
-    Matcher matcher = pattern.matcher(tempString);
+    Matcher matcher = MAP_SIZE.matcher(tempString);
     while (matcher.find()) {
       mapStringSize = matcher.group();
     }
@@ -115,42 +177,51 @@ public abstract class SchemaProcessorLib {
   }
 
   static String cleanUpPath(FieldValueMapping fieldValueMapping, String fieldName) {
+    return cleanUpPath(fieldValueMapping.getFieldName(), fieldName);
+  }
+
+  static String cleanUpPath(String fullFieldName, String fieldName) {
     int startPosition = 0;
     String cleanPath;
     if (StringUtils.isNotEmpty(fieldName)) {
-      startPosition = fieldValueMapping.getFieldName().indexOf(fieldName) + fieldName.length() + 1;
+      startPosition = fullFieldName.indexOf(fieldName) + fieldName.length() + 1;
     }
-    cleanPath = fieldValueMapping.getFieldName().substring(startPosition);
-    if (cleanPath.matches("^(\\d*:*]).*$")) {
+    cleanPath = fullFieldName.substring(startPosition);
+    if (NESTED_PATH_PREFIX.matcher(cleanPath).matches()) {
       cleanPath = cleanPath.substring(cleanPath.indexOf(".") + 1);
     }
     return cleanPath;
   }
 
   static String getCleanMethodName(FieldValueMapping fieldValueMapping, String fieldName) {
-    return getFullMethodName(fieldValueMapping, fieldName).replaceAll("\\[[0-9]*:?]", "");
+    return getCleanMethodName(cleanUpPath(fieldValueMapping, fieldName));
+  }
+
+  static String getCleanMethodName(String cleanPath) {
+    return COLLECTION_INDEX.matcher(getFullMethodName(cleanPath)).replaceAll("");
   }
 
   static String getFullMethodName(FieldValueMapping fieldValueMapping, String fieldName) {
-    String pathToClean = cleanUpPath(fieldValueMapping, fieldName);
-    int endOfField = pathToClean.contains(".") ? pathToClean.indexOf(".") : pathToClean.length();
-    return pathToClean.substring(0, endOfField);
+    return getFullMethodName(cleanUpPath(fieldValueMapping, fieldName));
+  }
+
+  static String getFullMethodName(String cleanPath) {
+    int endOfField = cleanPath.contains(".") ? cleanPath.indexOf(".") : cleanPath.length();
+    return cleanPath.substring(0, endOfField);
   }
 
   static String getMapCleanMethodName(FieldValueMapping fieldValueMapping, String fieldName) {
-    String pathToClean = cleanUpPath(fieldValueMapping, fieldName);
-    int endOfField = pathToClean.contains("[") ? pathToClean.indexOf("[") : 0;
-    return pathToClean.substring(0, endOfField).replaceAll("\\[\\d*:?]", "");
+    return getMapCleanMethodName(cleanUpPath(fieldValueMapping, fieldName));
+  }
+
+  static String getMapCleanMethodName(String cleanPath) {
+    int endOfField = cleanPath.contains("[") ? cleanPath.indexOf("[") : 0;
+    return COLLECTION_INDEX.matcher(cleanPath.substring(0, endOfField)).replaceAll("");
   }
 
   static Object generateRandomMap(String fieldName, String fieldType, Integer mapSize, Integer fieldValueLength, Integer arraySize, List<String> fieldValuesList) {
 
-    List<String> parameterList = new ArrayList<>(fieldValuesList);
-    parameterList.replaceAll(fieldValue ->
-                                 fieldValue.matches("\\$\\{\\w*}") ?
-                                     JMeterContextService.getContext().getVariables().get(fieldValue.substring(2, fieldValue.length() - 1)) :
-                                     fieldValue
-    );
+    List<String> parameterList = ValueUtils.replaceValuesContext(fieldValuesList);
 
     var value = new HashMap<>(mapSize);
     if ("seq".equals(fieldType)) {
@@ -171,12 +242,7 @@ public abstract class SchemaProcessorLib {
 
   static Object generateRandomList(String fieldName, String fieldType, int arraySize, Integer valueLength, List<String> fieldValuesList) {
 
-    List<String> parameterList = new ArrayList<>(fieldValuesList);
-    parameterList.replaceAll(fieldValue ->
-                                 fieldValue.matches("\\$\\{\\w*}") ?
-                                     JMeterContextService.getContext().getVariables().get(fieldValue.substring(2, fieldValue.length() - 1)) :
-                                     fieldValue
-    );
+    List<String> parameterList = ValueUtils.replaceValuesContext(fieldValuesList);
     List value = new ArrayList<>(arraySize);
     if ("seq".equals(fieldType)) {
       if (!fieldValuesList.isEmpty() && fieldValuesList.size() > 1) {
@@ -202,6 +268,11 @@ public abstract class SchemaProcessorLib {
     return generateRandomList(fieldName, fieldValueMapping.getFieldType(), arraySize, fieldValueMapping.getValueLength(), fieldValueMapping.getFieldValuesList());
   }
 
+  static Object createArray(String fieldName, Integer arraySize, FieldCursor fieldCursor) {
+    FieldValueMapping fieldValueMapping = fieldCursor.poll();
+    return generateRandomList(fieldName, fieldValueMapping.getFieldType(), arraySize, fieldValueMapping.getValueLength(), fieldValueMapping.getFieldValuesList());
+  }
+
   static Object createSimpleTypeMap(String fieldName, String fieldType, Integer mapSize, Integer fieldValueLength, List<String> fieldExpMappings) {
     return generateRandomMap(fieldName, fieldType, mapSize, fieldValueLength, 0, fieldExpMappings);
   }
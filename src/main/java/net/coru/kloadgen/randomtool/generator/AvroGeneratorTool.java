@@ -20,6 +20,8 @@ import java.util.Objects;
 import net.coru.kloadgen.model.ConstraintTypeEnum;
 import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.randomtool.random.RandomObject;
+import net.coru.kloadgen.randomtool.random.RandomSource;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import net.coru.kloadgen.randomtool.util.ValueUtils;
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
@@ -27,7 +29,6 @@ import org.apache.avro.Schema.Type;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericFixed;
 import org.apache.commons.collections4.IterableUtils;
-import org.apache.commons.lang3.RandomUtils;
 
 public class AvroGeneratorTool {
 
@@ -37,6 +38,7 @@ public class AvroGeneratorTool {
 
   public Object generateObject(Field field, FieldValueMapping fieldValueMapping, Map<ConstraintTypeEnum, String> constrains) {
     String fieldType = fieldValueMapping.getFieldType();
+    FieldType resolvedType = fieldValueMapping.getResolvedFieldType();
     Integer valueLength = fieldValueMapping.getValueLength();
     List<String> fieldValuesList = fieldValueMapping.getFieldValuesList();
 
@@ -50,12 +52,12 @@ public class AvroGeneratorTool {
       Schema safeSchema = getRecordUnion(field.schema().getTypes());
       if (differentTypesNeedCast(fieldType, safeSchema.getType())) {
 
-        value = randomObject.generateRandom(fieldType, valueLength, parameterList, constrains);
+        value = randomObject.generateRandom(resolvedType, fieldType, valueLength, parameterList, constrains);
         value = ValueUtils.castValue(value, field.schema().getType().getName());
       } else if (ENUM == safeSchema.getType()) {
         value = getEnumOrGenerate(fieldValueMapping.getFieldName(), fieldType, safeSchema, parameterList, field.schema().getType().getName());
       } else {
-        value = randomObject.generateRandom(fieldType, valueLength, parameterList, constrains);
+        value = randomObject.generateRandom(resolvedType, fieldType, valueLength, parameterList, constrains);
         if ("null".equalsIgnoreCase(value.toString())) {
           value = null;
         }
@@ -70,12 +72,12 @@ public class AvroGeneratorTool {
       }
     } else if (differentTypesNeedCast(fieldType, field.schema().getType())) {
 
-      value = randomObject.generateRandom(fieldType, valueLength, parameterList, constrains);
+      value = randomObject.generateRandom(resolvedType, fieldType, valueLength, parameterList, constrains);
       value = ValueUtils.castValue(value, field.schema().getType().getName());
     } else if (!logicalType && FIXED == field.schema().getType()) {
       value = getFixedOrGenerate(field.schema());
     } else {
-      value = randomObject.generateRandom(fieldType, valueLength, parameterList, constrains);
+      value = randomObject.generateRandom(resolvedType, fieldType, valueLength, parameterList, constrains);
     }
     return value;
   }
@@ -100,7 +102,7 @@ public class AvroGeneratorTool {
       case BOOLEAN:
       case BYTES:
       default:
-        return !fieldTypeSchema.getName().equals(fieldType.split("_")[0]);
+        return !fieldTypeSchema.getName().equals(FieldType.baseTypeName(fieldType));
     }
   }
 
@@ -117,7 +119,7 @@ public class AvroGeneratorTool {
       case "int":
         return false;
       default:
-        return !Type.INT.getName().equals(fieldType.split("_")[0]);
+        return !Type.INT.getName().equals(FieldType.baseTypeName(fieldType));
     }
   }
 
@@ -136,12 +138,12 @@ public class AvroGeneratorTool {
     if ("ENUM".equalsIgnoreCase(fieldValueMappingType)) {
       if (parameterList.isEmpty()) {
         List<String> enumValueList = schema.getEnumSymbols();
-        value = new GenericData.EnumSymbol(schema, enumValueList.get(RandomUtils.nextInt(0, enumValueList.size())));
+        value = new GenericData.EnumSymbol(schema, enumValueList.get(RandomSource.nextInt(0, enumValueList.size())));
       } else {
         if ("Seq".equalsIgnoreCase(fieldType)) {
           value = new GenericData.EnumSymbol(schema, randomObject.generateSequenceForFieldValueList(fieldName, fieldValueMappingType, parameterList, context));
         } else {
-          value = new GenericData.EnumSymbol(schema, parameterList.get(RandomUtils.nextInt(0, parameterList.size())));
+          value = new GenericData.EnumSymbol(schema, parameterList.get(RandomSource.nextInt(0, parameterList.size())));
         }
       }
     } else {
@@ -8,9 +8,11 @@ import java.util.Objects;
 import com.google.protobuf.Descriptors;
 import com.google.protobuf.Descriptors.FieldDescriptor;
 import net.coru.kloadgen.model.ConstraintTypeEnum;
+import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.randomtool.random.RandomObject;
+import net.coru.kloadgen.randomtool.random.RandomSource;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import net.coru.kloadgen.randomtool.util.ValueUtils;
-import org.apache.commons.lang3.RandomUtils;
 
 public class ProtoBufGeneratorTool {
 
@@ -32,13 +34,13 @@ public class ProtoBufGeneratorTool {
 
     if ("enum".equalsIgnoreCase(fieldType) || "enum-array".equalsIgnoreCase(fieldType)) {
       if (parameterList.isEmpty()) {
-        value = descriptor.getValues().get(RandomUtils.nextInt(0, descriptor.getValues().size()));
+        value = descriptor.getValues().get(RandomSource.nextInt(0, descriptor.getValues().size()));
       } else {
         List<Descriptors.EnumValueDescriptor> enumValues = new ArrayList<>(parameterList.size());
         for (String parameter : parameterList) {
           enumValues.add(descriptor.findValueByName(parameter));
         }
-        value = enumValues.get(RandomUtils.nextInt(0, enumValues.size()));
+        value = enumValues.get(RandomSource.nextInt(0, enumValues.size()));
       }
     }
     return value;
@@ -56,9 +58,20 @@ public class ProtoBufGeneratorTool {
   public Object generateObject(
       FieldDescriptor descriptor, String fieldType, Integer valueLength, List<String> fieldValuesList,
       Map<ConstraintTypeEnum, String> constrains) {
+    return generateObject(descriptor, FieldType.ofIgnoreCase(fieldType), fieldType, valueLength, fieldValuesList, constrains);
+  }
+
+  public Object generateObject(FieldDescriptor descriptor, FieldValueMapping fieldValueMapping) {
+    return generateObject(descriptor, fieldValueMapping.getResolvedFieldType(), fieldValueMapping.getFieldType(), fieldValueMapping.getValueLength(),
+                          fieldValueMapping.getFieldValuesList(), fieldValueMapping.getConstrains());
+  }
+
+  private Object generateObject(
+      FieldDescriptor descriptor, FieldType type, String fieldType, Integer valueLength, List<String> fieldValuesList,
+      Map<ConstraintTypeEnum, String> constrains) {
     Object result = null;
     if (Objects.nonNull(descriptor.getJavaType())) {
-      result = RANDOM_OBJECT.generateRandom(fieldType, valueLength, fieldValuesList, constrains);
+      result = RANDOM_OBJECT.generateRandom(type, fieldType, valueLength, fieldValuesList, constrains);
     }
     return result;
   }
@@ -12,9 +12,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import net.coru.kloadgen.model.FieldValueMapping;
 import net.coru.kloadgen.randomtool.random.RandomArray;
 import net.coru.kloadgen.randomtool.random.RandomMap;
 import net.coru.kloadgen.randomtool.random.RandomObject;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import net.coru.kloadgen.randomtool.util.ValueUtils;
 import net.coru.kloadgen.randomtool.util.ValidTypeConstants;
 
@@ -33,6 +35,19 @@ public class StatelessGeneratorTool {
   }
 
   public Object generateObject(String fieldName, String fieldType, Integer valueLength, List<String> fieldValuesList) {
+    return generateObject(fieldName, FieldType.ofIgnoreCase(fieldType), fieldType, valueLength, fieldValuesList);
+  }
+
+  public Object generateObject(String fieldName, FieldValueMapping fieldValueMapping) {
+    return generateObject(fieldName, fieldValueMapping.getResolvedFieldType(), fieldValueMapping.getFieldType(), fieldValueMapping.getValueLength(),
+                          fieldValueMapping.getFieldValuesList());
+  }
+
+  /**
+   * @param type {@code fieldType} as resolved by {@link FieldType#ofIgnoreCase(String)}, or {@code null} when it is not
+   *     a known type
+   */
+  public Object generateObject(String fieldName, FieldType type, String fieldType, Integer valueLength, List<String> fieldValuesList) {
     List<String> parameterList = ValueUtils.replaceValuesContext(fieldValuesList);
 
     Object value;
@@ -44,7 +59,7 @@ public class StatelessGeneratorTool {
         value = randomObject.generateSeq(fieldName, fieldType, parameterList, context);
       }
     } else {
-      value = randomObject.generateRandom(fieldType, valueLength, parameterList, Collections.emptyMap());
+      value = randomObject.generateRandom(type, fieldType, valueLength, parameterList, Collections.emptyMap());
     }
     return value;
   }
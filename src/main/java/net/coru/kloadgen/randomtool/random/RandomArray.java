@@ -13,7 +13,6 @@ import java.util.Map;
 
 import net.coru.kloadgen.model.ConstraintTypeEnum;
 import net.coru.kloadgen.randomtool.util.ValidTypeConstants;
-import org.apache.commons.lang3.RandomUtils;
 
 public class RandomArray {
 
@@ -73,7 +72,7 @@ public class RandomArray {
   private Object generateRandomArrayMap(
       String fieldType, Integer valueLength, List<String> fieldValueList, Integer arraySize,
       Integer innerArraySize, Map<ConstraintTypeEnum, String> constrains) {
-    int size = arraySize == 0 ? RandomUtils.nextInt(1, 5) : arraySize;
+    int size = arraySize == 0 ? RandomSource.nextInt(1, 5) : arraySize;
     Map<String, Object> map = new java.util.HashMap<>(arraySize);
 
     for (int i = 0; i < size; i++) {
@@ -88,7 +87,7 @@ public class RandomArray {
   private Object generateArrayOfArray(
       String fieldType, Integer valueLength, List<String> fieldValueList, Integer arraySize, Integer innerArraySize, Map<ConstraintTypeEnum, String> constrains) {
 
-    int size = arraySize == 0 ? RandomUtils.nextInt(1, 5) : arraySize;
+    int size = arraySize == 0 ? RandomSource.nextInt(1, 5) : arraySize;
     List<Object> array = new ArrayList<>(size);
 
     for (int i = 0; i < size; i++) {
@@ -100,7 +99,7 @@ public class RandomArray {
   private List<Object> generate(
       String type, Integer arraySize, Integer valueLength, List<String> fieldValueList,
       Map<ConstraintTypeEnum, String> constrains) {
-    int size = arraySize == 0 ? RandomUtils.nextInt(1, 5) : arraySize;
+    int size = arraySize == 0 ? RandomSource.nextInt(1, 5) : arraySize;
     List<Object> array = new ArrayList<>(size);
 
     for (int i = 0; i < size; i++) {
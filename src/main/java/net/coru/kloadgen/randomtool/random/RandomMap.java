@@ -15,7 +15,6 @@ import java.util.UUID;
 
 import net.coru.kloadgen.model.ConstraintTypeEnum;
 import net.coru.kloadgen.randomtool.util.ValidTypeConstants;
-import org.apache.commons.lang3.RandomUtils;
 
 public class RandomMap {
 
@@ -26,7 +25,7 @@ public class RandomMap {
   }
 
   private static String[] getMapEntryValue(List<String> fieldValueList) {
-    return fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim().split(":");
+    return fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim().split(":");
   }
 
   public Object generateMap(
@@ -125,7 +124,7 @@ public class RandomMap {
     List<Map<String, Object>> generatedMapArray = new ArrayList<>(arraySize);
     int tempValueLength = valueLength;
     if (valueLength == 0) {
-      tempValueLength = (int) Math.floor(Math.random() * (9 - 1 + 1) + 1);
+      tempValueLength = RandomSource.nextInt(1, 10);
     }
     for (int i = 0; i < arraySize; i++) {
       String newType = type.substring(0, type.length() - 6);
@@ -138,7 +137,7 @@ public class RandomMap {
   private Map<String, Object> generate(
       String type, Integer mapSize, List<String> fieldValueList, int valueLength,
       Map<ConstraintTypeEnum, String> constrains) {
-    int size = mapSize > 0 ? mapSize : RandomUtils.nextInt(1, 5);
+    int size = mapSize > 0 ? mapSize : RandomSource.nextInt(1, 5);
     Map<String, Object> map = new HashMap<>(size);
     if (!fieldValueList.isEmpty()) {
       while (map.size() < Math.min(size, fieldValueList.size())) {
@@ -192,7 +191,7 @@ public class RandomMap {
   private Map<String, Object> generateMapOfMap(
       String type, Integer mapSize, Integer innerMapSize, List<String> fieldValueList, int valueLength, Map<ConstraintTypeEnum, String> constrains) {
 
-    int size = mapSize > 0 ? mapSize : RandomUtils.nextInt(1, 5);
+    int size = mapSize > 0 ? mapSize : RandomSource.nextInt(1, 5);
     Map<String, Object> map = new HashMap<>(size);
 
     for (int i = 0; i <= Math.abs(map.size() - mapSize); i++) {
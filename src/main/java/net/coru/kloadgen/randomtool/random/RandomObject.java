@@ -14,22 +14,24 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
-import com.github.curiousoddman.rgxgen.RgxGen;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.model.ConstraintTypeEnum;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import net.coru.kloadgen.randomtool.util.ValidTypeConstants;
 import net.coru.kloadgen.randomtool.util.ValueUtils;
-import org.apache.commons.lang3.RandomStringUtils;
-import org.apache.commons.lang3.RandomUtils;
 import org.apache.commons.lang3.StringUtils;
 
 public class RandomObject {
 
+  private static final Map<BoundsKey, IntegerBounds> INTEGER_BOUNDS = new ConcurrentHashMap<>();
+
   public boolean isTypeValid(String type) {
     return ValidTypeConstants.VALID_OBJECT_TYPES.contains(type);
   }
@@ -49,100 +51,110 @@ public class RandomObject {
   public Object generateRandom(
       String fieldType, Integer valueLength, List<String> fieldValueList,
       Map<ConstraintTypeEnum, String> constrains) {
+    return generateRandom(FieldType.ofIgnoreCase(fieldType), fieldType, valueLength, fieldValueList, constrains);
+  }
+
+  /**
+   * Same as {@link #generateRandom(String, Integer, List, Map)} for a type resolved beforehand.
+   *
+   * @param type {@code fieldType} as resolved by {@link FieldType#ofIgnoreCase(String)}, or {@code null} when it is not
+   *     a known type, in which case {@code fieldType} itself is returned
+   */
+  public Object generateRandom(
+      FieldType type, String fieldType, Integer valueLength, List<String> fieldValueList,
+      Map<ConstraintTypeEnum, String> constrains) {
+    return Objects.isNull(type) ? fieldType : randomValue(type, valueLength, fieldValueList, constrains);
+  }
+
+  private Object randomValue(
+      FieldType type, Integer valueLength, List<String> fieldValueList,
+      Map<ConstraintTypeEnum, String> constrains) {
     Object value;
-    switch (fieldType.toLowerCase()) {
-      case ValidTypeConstants.STRING:
+    switch (type) {
+      case STRING:
         value = getStringValueOrRandom(valueLength, fieldValueList, constrains);
         break;
-      case ValidTypeConstants.INT:
+      case INT:
         try {
-          value = getIntegerValueOrRandom(valueLength, fieldValueList, constrains).intValueExact();
+          value = Math.toIntExact(getIntegerValueOrRandom(valueLength, fieldValueList, constrains));
         } catch (ArithmeticException exception) {
           value = Integer.MAX_VALUE;
         }
         break;
-      case ValidTypeConstants.LONG:
+      case LONG:
         try {
-          value = getIntegerValueOrRandom(valueLength, fieldValueList, constrains).longValueExact();
+          value = getIntegerValueOrRandom(valueLength, fieldValueList, constrains);
         } catch (ArithmeticException exception) {
           value = Long.MAX_VALUE;
         }
         break;
-      case ValidTypeConstants.SHORT:
+      case SHORT:
         try {
-          value = getIntegerValueOrRandom(valueLength, fieldValueList, constrains).shortValueExact();
+          value = toShortExact(getIntegerValueOrRandom(valueLength, fieldValueList, constrains));
         } catch (ArithmeticException exception) {
           value = Short.MAX_VALUE;
         }
         break;
-      case ValidTypeConstants.DOUBLE:
-        try {
-          value = getDecimalValueOrRandom(valueLength, fieldValueList, constrains).doubleValue();
-        } catch (ArithmeticException exception) {
-          value = Double.MAX_VALUE;
-        }
+      case DOUBLE:
+        value = fieldValueList.isEmpty() ? getRandomDecimal(valueLength, constrains) : Double.parseDouble(pickValue(fieldValueList));
         break;
-      case ValidTypeConstants.NUMBER:
-      case ValidTypeConstants.FLOAT:
-        try {
-          value = getDecimalValueOrRandom(valueLength, fieldValueList, constrains).floatValue();
-        } catch (ArithmeticException exception) {
-          value = Float.MAX_VALUE;
-        }
+      case NUMBER:
+      case FLOAT:
+        value = fieldValueList.isEmpty() ? (float) getRandomDecimal(valueLength, constrains) : Float.parseFloat(pickValue(fieldValueList));
         break;
-      case ValidTypeConstants.BYTES:
+      case BYTES:
         try {
-          value = getIntegerValueOrRandom(valueLength, Collections.emptyList(), Collections.emptyMap()).byteValueExact();
+          value = toByteExact(getIntegerValueOrRandom(valueLength, Collections.emptyList(), Collections.emptyMap()));
         } catch (ArithmeticException exception) {
           value = Byte.MAX_VALUE;
         }
         break;
-      case ValidTypeConstants.TIMESTAMP:
-      case ValidTypeConstants.LONG_TIMESTAMP:
-      case ValidTypeConstants.STRING_TIMESTAMP:
-        value = getTimestampValueOrRandom(fieldType, fieldValueList);
+      case TIMESTAMP:
+      case LONG_TIMESTAMP:
+      case STRING_TIMESTAMP:
+        value = getTimestampValueOrRandom(type, fieldValueList);
         break;
-      case ValidTypeConstants.UUID:
+      case UUID:
         value = getUUIDValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.BOOLEAN:
+      case BOOLEAN:
         value = getBooleanValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.ENUM:
+      case ENUM:
         value = getEnumValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.INT_DATE:
+      case INT_DATE:
         value = getDateValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.INT_TIME_MILLIS:
+      case INT_TIME_MILLIS:
         value = getTimeMillisValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.LONG_TIME_MICROS:
+      case LONG_TIME_MICROS:
         value = getTimeMicrosValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.LONG_TIMESTAMP_MILLIS:
+      case LONG_TIMESTAMP_MILLIS:
         value = getTimestampMillisValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.LONG_TIMESTAMP_MICROS:
+      case LONG_TIMESTAMP_MICROS:
         value = getTimestampMicrosValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MILLIS:
+      case LONG_LOCAL_TIMESTAMP_MILLIS:
         value = getLocalTimestampMillisValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MICROS:
+      case LONG_LOCAL_TIMESTAMP_MICROS:
         value = getLocalTimestampMicrosValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.STRING_UUID:
+      case STRING_UUID:
         value = getUUIDValueOrRandom(fieldValueList);
         break;
-      case ValidTypeConstants.BYTES_DECIMAL:
+      case BYTES_DECIMAL:
         value = getDecimalValueOrRandom(fieldValueList, constrains);
         break;
-      case ValidTypeConstants.FIXED_DECIMAL:
+      case FIXED_DECIMAL:
         value = getDecimalValueOrRandom(fieldValueList, constrains);
         break;
       default:
-        value = fieldType;
+        value = type.getTypeName();
         break;
     }
 
@@ -199,69 +211,84 @@ public class RandomObject {
     return castValue;
   }
 
-  private BigInteger getIntegerValueOrRandom(Integer valueLength, List<String> fieldValueList, Map<ConstraintTypeEnum, String> constrains) {
-    BigInteger value;
+  private long getIntegerValueOrRandom(Integer valueLength, List<String> fieldValueList, Map<ConstraintTypeEnum, String> constrains) {
+    long value;
 
     if (!fieldValueList.isEmpty()) {
-      value = new BigInteger(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      value = parseLongExact(pickValue(fieldValueList));
     } else {
-      Number minimum = calculateMinimum(valueLength, constrains);
-      Number maximum = calculateMaximum(valueLength, constrains);
-
-      if (constrains.containsKey(ConstraintTypeEnum.MULTIPLE_OF)) {
-        int multipleOf = Integer.parseInt(constrains.get(ConstraintTypeEnum.MULTIPLE_OF));
-        maximum = maximum.intValue() > multipleOf ? maximum.intValue() / multipleOf : maximum;
-        value = BigInteger.valueOf(RandomUtils.nextLong(minimum.longValue(), maximum.longValue()) * multipleOf);
-      } else {
-        value = BigInteger.valueOf(RandomUtils.nextLong(minimum.longValue(), maximum.longValue()));
-      }
+      value = integerBounds(valueLength, constrains).nextLong();
     }
 
     return value;
   }
 
-  private BigDecimal getDecimalValueOrRandom(Integer valueLength, List<String> fieldValueList, Map<ConstraintTypeEnum, String> constrains) {
-    BigDecimal value;
+  private double getRandomDecimal(Integer valueLength, Map<ConstraintTypeEnum, String> constrains) {
+    double value;
+    IntegerBounds bounds = integerBounds(valueLength - 1, constrains);
 
-    if (!fieldValueList.isEmpty()) {
-      value = new BigDecimal(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+    if (bounds.hasMultipleOf) {
+      value = bounds.nextDouble();
+    } else if (valueLength < 3) {
+      value = integerBounds(valueLength, constrains).nextLong();
     } else {
-      Number minimum = calculateMinimum(valueLength - 1, constrains);
-      Number maximum = calculateMaximum(valueLength - 1, constrains);
-
-      if (constrains.containsKey(ConstraintTypeEnum.MULTIPLE_OF)) {
-        int multipleOf = Integer.parseInt(constrains.get(ConstraintTypeEnum.MULTIPLE_OF));
-        maximum = maximum.intValue() > multipleOf ? maximum.intValue() / multipleOf : maximum;
-        value = BigDecimal.valueOf(RandomUtils.nextDouble(minimum.doubleValue(), maximum.doubleValue()) * multipleOf);
-      } else {
-        if (valueLength < 3) {
-          value = new BigDecimal(getIntegerValueOrRandom(valueLength, fieldValueList, constrains));
-        } else {
-          BigDecimal aux = BigDecimal.valueOf(RandomUtils.nextLong(minimum.longValue(), maximum.longValue()));
-          int decLength = RandomUtils.nextInt(1, valueLength / 2);
-          value = aux.multiply(BigDecimal.valueOf(0.1).pow(decLength));
-        }
-      }
+      int maxDecLength = valueLength / 2;
+      int decLength = maxDecLength <= 1 ? 1 : 1 + RandomSource.current().nextInt(maxDecLength - 1);
+      value = bounds.nextLong() / Math.pow(10, decLength);
     }
 
     return value;
   }
 
+  private static IntegerBounds integerBounds(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
+    IntegerBounds bounds = INTEGER_BOUNDS.get(new BoundsKey(valueLength, constrains));
+    if (Objects.isNull(bounds)) {
+      bounds = new IntegerBounds(calculateMinimum(valueLength, constrains), calculateMaximum(valueLength, constrains), constrains);
+      INTEGER_BOUNDS.putIfAbsent(new BoundsKey(valueLength, new HashMap<>(constrains)), bounds);
+    }
+    return bounds;
+  }
+
+  private static String pickValue(List<String> fieldValueList) {
+    return fieldValueList.get(RandomSource.current().nextInt(fieldValueList.size())).trim();
+  }
+
+  private static long parseLongExact(String value) {
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException exception) {
+      return new BigInteger(value).longValueExact();
+    }
+  }
+
+  private static short toShortExact(long value) {
+    if ((short) value != value) {
+      throw new ArithmeticException("short overflow");
+    }
+    return (short) value;
+  }
+
+  private static byte toByteExact(long value) {
+    if ((byte) value != value) {
+      throw new ArithmeticException("byte overflow");
+    }
+    return (byte) value;
+  }
+
   private String getStringValueOrRandom(
       Integer valueLength, List<String> fieldValueList,
       Map<ConstraintTypeEnum, String> constrains) {
     String value;
     if (!fieldValueList.isEmpty() && !StringUtils.isEmpty(fieldValueList.get(0))) {
-      value = fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim();
+      value = fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim();
     } else {
       if (constrains.containsKey(ConstraintTypeEnum.REGEX)) {
-        RgxGen rxGenerator = new RgxGen(constrains.get(ConstraintTypeEnum.REGEX));
-        value = rxGenerator.generate();
+        value = RegexGenerator.of(constrains.get(ConstraintTypeEnum.REGEX)).generate();
         if (valueLength > 0 || constrains.containsKey(ConstraintTypeEnum.MAXIMUM_VALUE)) {
           value = value.substring(0, getMaxLength(valueLength, constrains.get(ConstraintTypeEnum.MAXIMUM_VALUE)));
         }
       } else {
-        value = RandomStringUtils.randomAlphabetic(valueLength == 0 ? RandomUtils.nextInt(1, 20) : valueLength);
+        value = RandomSource.randomAlphabetic(valueLength == 0 ? RandomSource.nextInt(1, 20) : valueLength);
       }
     }
     return value;
@@ -275,33 +302,33 @@ public class RandomObject {
     return maxValue;
   }
 
-  private Object getTimestampValueOrRandom(String type, List<String> fieldValueList) {
+  private Object getTimestampValueOrRandom(FieldType type, List<String> fieldValueList) {
     LocalDateTime value;
     if (!fieldValueList.isEmpty()) {
-      value = LocalDateTime.parse(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      value = LocalDateTime.parse(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     } else {
       value = LocalDateTime.now();
     }
-    if ("longTimestamp".equalsIgnoreCase(type)) {
+    if (FieldType.LONG_TIMESTAMP == type) {
       return value.toInstant(ZoneOffset.UTC).toEpochMilli();
-    } else if ("stringTimestamp".equalsIgnoreCase(type)) {
+    } else if (FieldType.STRING_TIMESTAMP == type) {
       return value.toString();
     }
     return value;
   }
 
   private UUID getUUIDValueOrRandom(List<String> fieldValueList) {
-    UUID value = UUID.randomUUID();
+    UUID value = RandomSource.randomUUID();
     if (!fieldValueList.isEmpty()) {
-      value = UUID.fromString(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      value = UUID.fromString(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     }
     return value;
   }
 
   private Boolean getBooleanValueOrRandom(List<String> fieldValueList) {
-    boolean value = RandomUtils.nextBoolean();
+    boolean value = RandomSource.nextBoolean();
     if (!fieldValueList.isEmpty()) {
-      value = Boolean.parseBoolean(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      value = Boolean.parseBoolean(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     }
     return value;
   }
@@ -309,14 +336,14 @@ public class RandomObject {
   private String getEnumValueOrRandom(List<String> fieldValueList) {
     String value;
     if (!fieldValueList.isEmpty()) {
-      value = fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim();
+      value = fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim();
     } else {
       throw new KLoadGenException("Wrong enums values, problem in the parsing process");
     }
     return value;
   }
 
-  private Number calculateMaximum(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
+  private static Number calculateMaximum(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
     Number maximum;
     if (constrains.containsKey(ConstraintTypeEnum.MAXIMUM_VALUE)) {
       if (constrains.containsKey(ConstraintTypeEnum.EXCLUDED_MAXIMUM_VALUE)) {
@@ -330,7 +357,7 @@ public class RandomObject {
     return maximum;
   }
 
-  private Number calculateMinimum(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
+  private static Number calculateMinimum(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
     Number minimum;
     if (constrains.containsKey(ConstraintTypeEnum.MINIMUM_VALUE)) {
       if (constrains.containsKey(ConstraintTypeEnum.EXCLUDED_MINIMUM_VALUE)) {
@@ -348,11 +375,11 @@ public class RandomObject {
     LocalDate resultDate;
     int minDay = (int) LocalDate.of(1900, 1, 1).toEpochDay();
     int maxDay = (int) LocalDate.of(2100, 1, 1).toEpochDay();
-    long randomDay = minDay + RandomUtils.nextInt(0, maxDay - minDay);
+    long randomDay = minDay + RandomSource.nextInt(0, maxDay - minDay);
     if (fieldValueList.isEmpty()) {
       resultDate = LocalDate.ofEpochDay(randomDay);
     } else {
-      resultDate = LocalDate.parse(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      resultDate = LocalDate.parse(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     }
     return resultDate;
   }
@@ -361,9 +388,9 @@ public class RandomObject {
     long nanoMin = 0;
     long nanoMax = 24L * 60L * 60L * 1_000_000_000L - 1L;
     if (fieldValueList.isEmpty()) {
-      return LocalTime.ofNanoOfDay(RandomUtils.nextLong(nanoMin, nanoMax));
+      return LocalTime.ofNanoOfDay(RandomSource.nextLong(nanoMin, nanoMax));
     } else {
-      return LocalTime.parse(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      return LocalTime.parse(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     }
   }
 
@@ -378,12 +405,12 @@ public class RandomObject {
   private static LocalDateTime getRandomLocalDateTime(List<String> fieldValueList) {
     long minDay = LocalDateTime.of(1900, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
     long maxDay = LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
-    long randomSeconds = minDay + RandomUtils.nextLong(0, maxDay - minDay);
+    long randomSeconds = minDay + RandomSource.nextLong(0, maxDay - minDay);
 
     if (fieldValueList.isEmpty()) {
-      return LocalDateTime.ofEpochSecond(randomSeconds, RandomUtils.nextInt(0, 1_000_000_000 - 1), ZoneOffset.UTC);
+      return LocalDateTime.ofEpochSecond(randomSeconds, RandomSource.nextInt(0, 1_000_000_000 - 1), ZoneOffset.UTC);
     } else {
-      return LocalDateTime.parse(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+      return LocalDateTime.parse(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
     }
   }
 
@@ -405,7 +432,7 @@ public class RandomObject {
 
   private static long randomNumberWithLength(int n) {
     long min = (long) Math.pow(10, n - 1);
-    return RandomUtils.nextLong(min, min * 10);
+    return RandomSource.nextLong(min, min * 10);
   }
 
   private static BigDecimal getDecimalValueOrRandom(
@@ -429,7 +456,7 @@ public class RandomObject {
       if (fieldValueList.isEmpty()) {
         return BigDecimal.valueOf(randomNumberWithLength(precision), scale);
       } else {
-        return new BigDecimal(fieldValueList.get(RandomUtils.nextInt(0, fieldValueList.size())).trim());
+        return new BigDecimal(fieldValueList.get(RandomSource.nextInt(0, fieldValueList.size())).trim());
       }
 
     } else {
@@ -437,4 +464,88 @@ public class RandomObject {
     }
   }
 
+  /**
+   * Range a random integer is drawn from for a given value length and set of constraints, worked out once and shared
+   * by every thread.
+   */
+  private static final class IntegerBounds {
+
+    private static final long NO_MULTIPLE = 1L;
+
+    private final long minimum;
+
+    private final long maximum;
+
+    private final long multipleOf;
+
+    private final boolean hasMultipleOf;
+
+    private final String invalidRange;
+
+    private IntegerBounds(Number minimum, Number maximum, Map<ConstraintTypeEnum, String> constrains) {
+      this.minimum = minimum.longValue();
+      this.hasMultipleOf = constrains.containsKey(ConstraintTypeEnum.MULTIPLE_OF);
+      if (hasMultipleOf) {
+        this.multipleOf = Integer.parseInt(constrains.get(ConstraintTypeEnum.MULTIPLE_OF));
+        this.maximum = maximum.intValue() > multipleOf ? maximum.intValue() / multipleOf : maximum.longValue();
+      } else {
+        this.multipleOf = NO_MULTIPLE;
+        this.maximum = maximum.longValue();
+      }
+      if (this.maximum < this.minimum) {
+        invalidRange = "Start value must be smaller or equal to end value.";
+      } else if (this.minimum < 0) {
+        invalidRange = "Both range values must be non-negative.";
+      } else {
+        invalidRange = null;
+      }
+    }
+
+    private long nextLong() {
+      checkRange();
+      long value = minimum == maximum ? minimum : minimum + RandomSource.current().nextLong(maximum - minimum);
+      return value * multipleOf;
+    }
+
+    private double nextDouble() {
+      checkRange();
+      double value = minimum == maximum ? minimum : minimum + (maximum - minimum) * RandomSource.current().nextDouble();
+      return value * multipleOf;
+    }
+
+    private void checkRange() {
+      if (Objects.nonNull(invalidRange)) {
+        throw new IllegalArgumentException(invalidRange);
+      }
+    }
+  }
+
+  private static final class BoundsKey {
+
+    private final int valueLength;
+
+    private final Map<ConstraintTypeEnum, String> constrains;
+
+    private BoundsKey(int valueLength, Map<ConstraintTypeEnum, String> constrains) {
+      this.valueLength = valueLength;
+      this.constrains = constrains;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof BoundsKey)) {
+        return false;
+      }
+      BoundsKey key = (BoundsKey) other;
+      return valueLength == key.valueLength && constrains.equals(key.constrains);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * valueLength + constrains.hashCode();
+    }
+  }
 }
@@ -0,0 +1,83 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.randomtool.random;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Source of every random value generated by KLoadGen.
+ * <p>
+ * Each thread draws from its own {@link SplittableRandom}, so threads never contend on a shared generator. A thread
+ * seeded through {@link #seedCurrentThread} draws from a stream derived from the seed and the thread name, which makes
+ * a run repeatable as long as the same thread sends the same messages. Other threads are never affected by it. Range methods follow the contract of commons-lang3 {@code RandomUtils}.
+ */
+public final class RandomSource {
+
+  private static final char[] ALPHABETIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+  private static final ThreadLocal<SplittableRandom> RANDOM = ThreadLocal.withInitial(SplittableRandom::new);
+
+  private RandomSource() {
+  }
+
+  /**
+   * Restarts the stream of the calling thread from a seed.
+   *
+   * @param seed seed of the run, mixed with the thread name
+   */
+  public static void seedCurrentThread(long seed) {
+    RANDOM.set(new SplittableRandom(seed ^ 0x9E3779B97F4A7C15L * Thread.currentThread().getName().hashCode()));
+  }
+
+  public static SplittableRandom current() {
+    return RANDOM.get();
+  }
+
+  public static int nextInt(int startInclusive, int endExclusive) {
+    validateRange(startInclusive, endExclusive);
+    return startInclusive == endExclusive ? startInclusive : current().nextInt(startInclusive, endExclusive);
+  }
+
+  public static long nextLong(long startInclusive, long endExclusive) {
+    validateRange(startInclusive, endExclusive);
+    return startInclusive == endExclusive ? startInclusive : current().nextLong(startInclusive, endExclusive);
+  }
+
+  public static double nextDouble(double startInclusive, double endExclusive) {
+    validateRange(startInclusive, endExclusive);
+    return startInclusive == endExclusive ? startInclusive : startInclusive + (endExclusive - startInclusive) * current().nextDouble();
+  }
+
+  public static boolean nextBoolean() {
+    return current().nextBoolean();
+  }
+
+  public static String randomAlphabetic(int count) {
+    Validate.isTrue(count >= 0, "Requested random string length %d is less than 0.", count);
+    SplittableRandom random = current();
+    char[] value = new char[count];
+    for (int i = 0; i < count; i++) {
+      value[i] = ALPHABETIC[random.nextInt(ALPHABETIC.length)];
+    }
+    return new String(value);
+  }
+
+  public static UUID randomUUID() {
+    SplittableRandom random = current();
+    long mostSigBits = random.nextLong() & 0xffffffffffff0fffL | 0x0000000000004000L;
+    long leastSigBits = random.nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private static void validateRange(double startInclusive, double endExclusive) {
+    Validate.isTrue(endExclusive >= startInclusive, "Start value must be smaller or equal to end value.");
+    Validate.isTrue(startInclusive >= 0, "Both range values must be non-negative.");
+  }
+}
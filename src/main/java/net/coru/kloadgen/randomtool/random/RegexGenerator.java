@@ -0,0 +1,168 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.randomtool.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.curiousoddman.rgxgen.RgxGen;
+
+/**
+ * Generator of strings matching a REGEX constraint, built once per pattern and shared by every thread.
+ * <p>
+ * Patterns made only of character classes, {@code \d} and literal characters with optional {@code {n}} or
+ * {@code {n,m}} quantifiers, such as {@code ^[A-Z]{3}[0-9]{4}$}, are generated directly from their character sets.
+ * Any other pattern goes through {@link RgxGen}.
+ */
+public abstract class RegexGenerator {
+
+  private static final Map<String, RegexGenerator> GENERATORS = new ConcurrentHashMap<>();
+
+  public static RegexGenerator of(String pattern) {
+    return GENERATORS.computeIfAbsent(pattern, RegexGenerator::compile);
+  }
+
+  public abstract String generate();
+
+  static RegexGenerator compile(String pattern) {
+    List<Segment> segments = parseSimplePattern(pattern);
+    return null == segments ? new RgxGenGenerator(new RgxGen(pattern)) : new SegmentGenerator(segments);
+  }
+
+  private static List<Segment> parseSimplePattern(String pattern) {
+    int end = pattern.endsWith("$") && !pattern.endsWith("\\$") ? pattern.length() - 1 : pattern.length();
+    int position = pattern.startsWith("^") ? 1 : 0;
+    List<Segment> segments = new ArrayList<>();
+    boolean simple = position < end;
+    while (simple && position < end) {
+      char current = pattern.charAt(position);
+      char[] alphabet;
+      if ('[' == current) {
+        int close = pattern.indexOf(']', position + 1);
+        alphabet = close < 0 ? null : parseClass(pattern.substring(position + 1, close));
+        position = close + 1;
+      } else if ('\\' == current && position + 1 < end && 'd' == pattern.charAt(position + 1)) {
+        alphabet = "0123456789".toCharArray();
+        position += 2;
+      } else if (Character.isLetterOrDigit(current) || '-' == current || '_' == current || ' ' == current) {
+        alphabet = new char[]{current};
+        position++;
+      } else {
+        alphabet = null;
+      }
+      if (null == alphabet) {
+        simple = false;
+      } else {
+        int[] bounds = {1, 1};
+        if (position < end && '{' == pattern.charAt(position)) {
+          int close = pattern.indexOf('}', position);
+          bounds = close < 0 || close > end ? null : parseQuantifier(pattern.substring(position + 1, close));
+          position = close + 1;
+        }
+        simple = null != bounds;
+        if (simple) {
+          segments.add(new Segment(alphabet, bounds[0], bounds[1]));
+        }
+      }
+    }
+    return simple ? segments : null;
+  }
+
+  private static char[] parseClass(String definition) {
+    StringBuilder alphabet = new StringBuilder();
+    boolean valid = !definition.isEmpty() && '^' != definition.charAt(0);
+    int position = 0;
+    while (valid && position < definition.length()) {
+      char from = definition.charAt(position);
+      valid = '\\' != from && '[' != from;
+      if (position + 2 < definition.length() && '-' == definition.charAt(position + 1)) {
+        char to = definition.charAt(position + 2);
+        valid &= from <= to && '\\' != to;
+        for (char character = from; valid && character <= to; character++) {
+          alphabet.append(character);
+        }
+        position += 3;
+      } else {
+        alphabet.append(from);
+        position++;
+      }
+    }
+    return valid ? alphabet.toString().toCharArray() : null;
+  }
+
+  private static int[] parseQuantifier(String definition) {
+    int[] bounds = null;
+    String[] parts = definition.split(",", -1);
+    if (parts.length <= 2 && parts[0].chars().allMatch(Character::isDigit) && !parts[0].isEmpty()) {
+      int min = Integer.parseInt(parts[0]);
+      if (1 == parts.length) {
+        bounds = new int[]{min, min};
+      } else if (!parts[1].isEmpty() && parts[1].chars().allMatch(Character::isDigit) && Integer.parseInt(parts[1]) >= min) {
+        bounds = new int[]{min, Integer.parseInt(parts[1])};
+      }
+    }
+    return bounds;
+  }
+
+  private static final class Segment {
+
+    private final char[] alphabet;
+
+    private final int min;
+
+    private final int max;
+
+    private Segment(char[] alphabet, int min, int max) {
+      this.alphabet = alphabet;
+      this.min = min;
+      this.max = max;
+    }
+  }
+
+  private static final class SegmentGenerator extends RegexGenerator {
+
+    private final Segment[] segments;
+
+    private final int maxLength;
+
+    private SegmentGenerator(List<Segment> segments) {
+      this.segments = segments.toArray(new Segment[0]);
+      this.maxLength = segments.stream().mapToInt(segment -> segment.max).sum();
+    }
+
+    @Override
+    public String generate() {
+      SplittableRandom random = RandomSource.current();
+      StringBuilder value = new StringBuilder(maxLength);
+      for (Segment segment : segments) {
+        int length = segment.min == segment.max ? segment.min : random.nextInt(segment.min, segment.max + 1);
+        for (int i = 0; i < length; i++) {
+          value.append(segment.alphabet[random.nextInt(segment.alphabet.length)]);
+        }
+      }
+      return value.toString();
+    }
+  }
+
+  private static final class RgxGenGenerator extends RegexGenerator {
+
+    private final RgxGen rgxGen;
+
+    private RgxGenGenerator(RgxGen rgxGen) {
+      this.rgxGen = rgxGen;
+    }
+
+    @Override
+    public String generate() {
+      return rgxGen.generate(new Random(RandomSource.current().nextLong()));
+    }
+  }
+}
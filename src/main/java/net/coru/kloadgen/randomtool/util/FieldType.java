@@ -0,0 +1,89 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.randomtool.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Field types the random generators know how to produce, resolved from their {@link ValidTypeConstants} name.
+ * <p>
+ * Callers on hot paths resolve the name once and keep the type, so dispatching on a field type does not lowercase,
+ * split or compare strings for every generated value.
+ */
+public enum FieldType {
+  STRING(ValidTypeConstants.STRING),
+  INT(ValidTypeConstants.INT),
+  LONG(ValidTypeConstants.LONG),
+  SHORT(ValidTypeConstants.SHORT),
+  DOUBLE(ValidTypeConstants.DOUBLE),
+  NUMBER(ValidTypeConstants.NUMBER),
+  FLOAT(ValidTypeConstants.FLOAT),
+  BYTES(ValidTypeConstants.BYTES),
+  BOOLEAN(ValidTypeConstants.BOOLEAN),
+  ENUM(ValidTypeConstants.ENUM),
+  UUID(ValidTypeConstants.UUID),
+  TIMESTAMP(ValidTypeConstants.TIMESTAMP),
+  LONG_TIMESTAMP(ValidTypeConstants.LONG_TIMESTAMP),
+  STRING_TIMESTAMP(ValidTypeConstants.STRING_TIMESTAMP),
+  INT_DATE(ValidTypeConstants.INT_DATE),
+  INT_TIME_MILLIS(ValidTypeConstants.INT_TIME_MILLIS),
+  LONG_TIME_MICROS(ValidTypeConstants.LONG_TIME_MICROS),
+  LONG_TIMESTAMP_MILLIS(ValidTypeConstants.LONG_TIMESTAMP_MILLIS),
+  LONG_TIMESTAMP_MICROS(ValidTypeConstants.LONG_TIMESTAMP_MICROS),
+  LONG_LOCAL_TIMESTAMP_MILLIS(ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MILLIS),
+  LONG_LOCAL_TIMESTAMP_MICROS(ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MICROS),
+  STRING_UUID(ValidTypeConstants.STRING_UUID),
+  BYTES_DECIMAL(ValidTypeConstants.BYTES_DECIMAL),
+  FIXED_DECIMAL(ValidTypeConstants.FIXED_DECIMAL);
+
+  private static final Map<String, FieldType> BY_NAME = new HashMap<>();
+
+  static {
+    for (FieldType fieldType : values()) {
+      BY_NAME.put(fieldType.typeName, fieldType);
+    }
+  }
+
+  private final String typeName;
+
+  private final String baseTypeName;
+
+  FieldType(String typeName) {
+    this.typeName = typeName;
+    this.baseTypeName = typeName.split("_")[0];
+  }
+
+  /**
+   * @param typeName exact type name, as found in {@link ValidTypeConstants}
+   * @return the type, or {@code null} when the name is not a known type
+   */
+  public static FieldType of(String typeName) {
+    return BY_NAME.get(typeName);
+  }
+
+  /**
+   * @param typeName type name in any case
+   * @return the type, or {@code null} when the name is not a known type
+   */
+  public static FieldType ofIgnoreCase(String typeName) {
+    return BY_NAME.get(typeName.toLowerCase(Locale.ROOT));
+  }
+
+  /**
+   * Base type of a type name: the part before the first {@code _}, so {@code int} for {@code int_date}.
+   */
+  public static String baseTypeName(String typeName) {
+    FieldType fieldType = of(typeName);
+    return null == fieldType ? typeName.split("_")[0] : fieldType.baseTypeName;
+  }
+
+  public String getTypeName() {
+    return typeName;
+  }
+}
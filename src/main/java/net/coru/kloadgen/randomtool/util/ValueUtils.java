@@ -6,6 +6,7 @@
 
 package net.coru.kloadgen.randomtool.util;
 
+import net.coru.kloadgen.model.FieldValueList;
 import org.apache.avro.Schema;
 import org.apache.jmeter.threads.JMeterContextService;
 
@@ -16,6 +17,7 @@ import java.time.LocalTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 public class ValueUtils {
@@ -25,66 +27,75 @@ public class ValueUtils {
   }
 
   public static List<String> replaceValuesContext(List<String> fieldValuesList) {
-    List<String> parameterList = new ArrayList<>(fieldValuesList);
-
-    parameterList.replaceAll(fieldValue ->
-                                 fieldValue.matches("\\$\\{\\w*}") ?
-                                     JMeterContextService.getContext().getVariables().get(fieldValue.substring(2, fieldValue.length() - 1)) : fieldValue);
+    List<String> parameterList;
+    if (fieldValuesList instanceof FieldValueList) {
+      FieldValueList fieldValues = (FieldValueList) fieldValuesList;
+      parameterList = fieldValues.hasContextVariables() ? fieldValues.resolve(JMeterContextService.getContext().getVariables()::get) : fieldValues;
+    } else {
+      parameterList = new ArrayList<>(fieldValuesList);
+      parameterList.replaceAll(fieldValue ->
+                                   FieldValueList.isContextVariable(fieldValue) ?
+                                       JMeterContextService.getContext().getVariables().get(fieldValue.substring(2, fieldValue.length() - 1)) : fieldValue);
+    }
     return parameterList;
   }
 
   public static Object castValue(Object valueObject, String type) {
     Object castValue;
     String value = valueObject.toString();
-    switch (type) {
-      case ValidTypeConstants.INT:
+    FieldType fieldType = FieldType.of(type);
+    if (Objects.isNull(fieldType)) {
+      return value;
+    }
+    switch (fieldType) {
+      case INT:
         castValue = Integer.valueOf(value);
         break;
-      case ValidTypeConstants.DOUBLE:
+      case DOUBLE:
         castValue = Double.valueOf(value);
         break;
-      case ValidTypeConstants.LONG:
+      case LONG:
         castValue = Long.valueOf(value);
         break;
-      case ValidTypeConstants.FLOAT:
+      case FLOAT:
         castValue = Float.valueOf(value);
         break;
-      case ValidTypeConstants.SHORT:
+      case SHORT:
         castValue = Short.valueOf(value);
         break;
-      case ValidTypeConstants.BOOLEAN:
+      case BOOLEAN:
         castValue = Boolean.valueOf(value);
         break;
-      case ValidTypeConstants.TIMESTAMP:
+      case TIMESTAMP:
         castValue = LocalDateTime.parse(value.trim());
         break;
-      case ValidTypeConstants.LONG_TIMESTAMP:
+      case LONG_TIMESTAMP:
         castValue = LocalDateTime.parse(value.trim()).toInstant(ZoneOffset.UTC).toEpochMilli();
         break;
-      case ValidTypeConstants.STRING_TIMESTAMP:
+      case STRING_TIMESTAMP:
         castValue = LocalDateTime.parse(value.trim()).toString();
         break;
-      case ValidTypeConstants.INT_DATE:
+      case INT_DATE:
         castValue = LocalDate.parse(value.trim());
         break;
-      case ValidTypeConstants.INT_TIME_MILLIS:
-      case ValidTypeConstants.LONG_TIME_MICROS:
+      case INT_TIME_MILLIS:
+      case LONG_TIME_MICROS:
         castValue = LocalTime.parse(value.trim());
         break;
-      case ValidTypeConstants.LONG_TIMESTAMP_MILLIS:
-      case ValidTypeConstants.LONG_TIMESTAMP_MICROS:
+      case LONG_TIMESTAMP_MILLIS:
+      case LONG_TIMESTAMP_MICROS:
         castValue = LocalDateTime.parse(value.trim()).toInstant(ZoneOffset.UTC);
         break;
-      case ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MILLIS:
-      case ValidTypeConstants.LONG_LOCAL_TIMESTAMP_MICROS:
+      case LONG_LOCAL_TIMESTAMP_MILLIS:
+      case LONG_LOCAL_TIMESTAMP_MICROS:
         castValue = LocalDateTime.parse(value.trim());
         break;
-      case ValidTypeConstants.UUID:
-      case ValidTypeConstants.STRING_UUID:
+      case UUID:
+      case STRING_UUID:
         castValue = UUID.fromString(value);
         break;
-      case ValidTypeConstants.BYTES_DECIMAL:
-      case ValidTypeConstants.FIXED_DECIMAL:
+      case BYTES_DECIMAL:
+      case FIXED_DECIMAL:
         castValue = new BigDecimal(value);
         break;
       default:
@@ -0,0 +1,225 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.HdrHistogram.Histogram;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+
+/**
+ * Produce-to-consume latency of the records carrying a {@code latency.header}.
+ * <p>
+ * The producer stamps every record with the id of its sampler, a sequence number and the wall clock time in
+ * microseconds. The consumer subtracts that time from its own clock, so both sides need synchronized clocks. Sequences
+ * are tracked per consumer group and sampler: a sequence seen twice is a duplicate of the partition it arrived on, and a
+ * sequence below the highest seen that never arrives is missing. The partition is only chosen once the record is
+ * stamped, so missing records are counted per producing sampler, not per partition. Latencies are recorded into one
+ * histogram per consumer group, whose percentiles cover the whole run and are reported when its last sampler is done.
+ */
+final class EndToEndLatency {
+
+  static final int STAMP_SIZE = 3 * Long.BYTES;
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private static final Map<String, Sequences> GROUPS = new ConcurrentHashMap<>();
+
+  private final String header;
+
+  private final String group;
+
+  private final Sequences sequences;
+
+  private EndToEndLatency(String header, String group) {
+    this.header = header;
+    this.group = group;
+    this.sequences = GROUPS.computeIfAbsent(group, name -> new Sequences());
+    this.sequences.acquire();
+  }
+
+  /**
+   * @param header name of the header carrying the stamps
+   * @param group consumer group the records are read for, whose samplers share the sequence tracking
+   */
+  static EndToEndLatency forGroup(String header, String group) {
+    return new EndToEndLatency(header, group);
+  }
+
+  static byte[] stamp(long source, long sequence) {
+    return ByteBuffer.allocate(STAMP_SIZE).putLong(source).putLong(sequence).putLong(currentMicros()).array();
+  }
+
+  static long currentMicros() {
+    Instant now = Instant.now();
+    return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+  }
+
+  /**
+   * Reads the stamps of the records of a poll into the group histogram.
+   *
+   * @return the highest latency of the poll along with the duplicate and missing counts of the group
+   */
+  String record(Iterable<ConsumerRecord<Object, Object>> records) {
+    long receivedAt = currentMicros();
+    long highest = 0;
+    long duplicates;
+    long missing;
+    synchronized (sequences) {
+      for (ConsumerRecord<Object, Object> consumerRecord : records) {
+        Header stamp = consumerRecord.headers().lastHeader(header);
+        if (Objects.nonNull(stamp) && STAMP_SIZE == stamp.value().length) {
+          ByteBuffer buffer = ByteBuffer.wrap(stamp.value());
+          sequences.mark(new TopicPartition(consumerRecord.topic(), consumerRecord.partition()), buffer.getLong(), buffer.getLong());
+          long latency = Math.max(receivedAt - buffer.getLong(), 0);
+          sequences.latencies.recordValue(latency);
+          highest = Math.max(highest, latency);
+        }
+      }
+      duplicates = sequences.duplicates();
+      missing = sequences.missing();
+    }
+    return String.format("e2e max: %s ms, duplicates: %s, missing: %s", millis(highest), duplicates, missing);
+  }
+
+  /**
+   * Releases the group tracking once its last sampler is done.
+   *
+   * @return the latency percentiles of the whole run, the duplicates per partition and the missing records of the group,
+   *     or {@code null} while other samplers of the group are still running
+   */
+  String release() {
+    String totals = null;
+    synchronized (sequences) {
+      if (sequences.release()) {
+        GROUPS.remove(group, sequences);
+        Histogram latencies = sequences.latencies;
+        totals = String.format("Records: %s, p50: %s ms, p99: %s ms, p99.9: %s ms, max: %s ms. Duplicates per partition: %s, missing: %s",
+                               latencies.getTotalCount(), millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                               millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()), sequences.duplicatesPerPartition,
+                               sequences.missing());
+      }
+    }
+    return totals;
+  }
+
+  private static double millis(long micros) {
+    return micros / 1_000.0;
+  }
+
+  /**
+   * Sequences seen by the samplers of a consumer group. Callers hold the instance lock.
+   */
+  private static final class Sequences {
+
+    private final Map<Long, SequenceWindow> sources = new HashMap<>();
+
+    private final Map<TopicPartition, Long> duplicatesPerPartition = new LinkedHashMap<>();
+
+    private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+
+    private int users;
+
+    private void acquire() {
+      synchronized (this) {
+        users++;
+      }
+    }
+
+    private boolean release() {
+      return 0 == --users;
+    }
+
+    private void mark(TopicPartition topicPartition, long source, long sequence) {
+      if (!sources.computeIfAbsent(source, id -> new SequenceWindow()).mark(sequence)) {
+        duplicatesPerPartition.merge(topicPartition, 1L, Long::sum);
+      }
+    }
+
+    private long duplicates() {
+      long duplicates = 0;
+      for (Long count : duplicatesPerPartition.values()) {
+        duplicates += count;
+      }
+      return duplicates;
+    }
+
+    private long missing() {
+      long missing = 0;
+      for (SequenceWindow window : sources.values()) {
+        missing += window.missing();
+      }
+      return missing;
+    }
+  }
+
+  /**
+   * Sequences seen from one producing sampler. Bits below the first gap are dropped once there are enough of them, so
+   * the window only spans the records still missing. The window never spans more than {@link #MAX_SPAN} sequences: the
+   * records further behind are given up as missing, and counted as duplicates if they ever arrive.
+   */
+  private static final class SequenceWindow {
+
+    private static final int COMPACT_AT = 4096;
+
+    private static final int MAX_SPAN = 1 << 20;
+
+    private long base;
+
+    private long highest = -1;
+
+    private long lost;
+
+    private BitSet seen = new BitSet();
+
+    private boolean mark(long sequence) {
+      boolean first = sequence >= base;
+      if (first) {
+        if (sequence - base >= MAX_SPAN) {
+          giveUpBelow(sequence - MAX_SPAN + 1);
+        }
+        int index = (int) (sequence - base);
+        first = !seen.get(index);
+        if (first) {
+          seen.set(index);
+          highest = Math.max(highest, sequence);
+          int contiguous = seen.nextClearBit(0);
+          if (contiguous >= COMPACT_AT) {
+            seen = seen.get(contiguous, Math.max(seen.length(), contiguous));
+            base += contiguous;
+          }
+        }
+      }
+      return first;
+    }
+
+    private void giveUpBelow(long newBase) {
+      long shift = newBase - base;
+      if (shift >= seen.length()) {
+        lost += shift - seen.cardinality();
+        seen = new BitSet();
+      } else {
+        lost += shift - seen.get(0, (int) shift).cardinality();
+        seen = seen.get((int) shift, seen.length());
+      }
+      base = newBase;
+    }
+
+    private long missing() {
+      return lost + (highest < base ? 0 : highest - base + 1 - seen.cardinality());
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static java.util.Collections.emptyList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+import net.coru.kloadgen.model.HeaderMapping;
+import net.coru.kloadgen.randomtool.generator.StatelessGeneratorTool;
+import net.coru.kloadgen.randomtool.util.FieldType;
+import org.apache.kafka.clients.producer.ProducerRecord;
+
+/**
+ * Kafka headers of the records of a sampler, compiled once from the configured {@link HeaderMapping} list.
+ * <p>
+ * A header whose value is not a generator type, such as {@code string} or {@code seq}, always gets that same value, so
+ * it is encoded once and its bytes are shared by every record. Only the generated headers are produced per record.
+ */
+final class HeaderPlan {
+
+  static final HeaderPlan EMPTY = new HeaderPlan(emptyList());
+
+  private static final StatelessGeneratorTool statelessGeneratorTool = new StatelessGeneratorTool();
+
+  private final List<HeaderMapping> source;
+
+  private final String[] names;
+
+  private final String[] types;
+
+  private final FieldType[] resolvedTypes;
+
+  private final byte[][] staticValues;
+
+  private HeaderPlan(List<HeaderMapping> headers) {
+    this.source = headers;
+    this.names = new String[headers.size()];
+    this.types = new String[headers.size()];
+    this.resolvedTypes = new FieldType[headers.size()];
+    this.staticValues = new byte[headers.size()][];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = headers.get(i).getHeaderName();
+      types[i] = headers.get(i).getHeaderValue();
+      resolvedTypes[i] = FieldType.ofIgnoreCase(types[i]);
+      if (!"seq".equals(types[i]) && Objects.isNull(resolvedTypes[i])) {
+        staticValues[i] = types[i].getBytes(StandardCharsets.UTF_8);
+      }
+    }
+  }
+
+  static HeaderPlan compile(List<HeaderMapping> headers) {
+    return headers.isEmpty() ? EMPTY : new HeaderPlan(headers);
+  }
+
+  /**
+   * @return whether this plan was compiled from that very list
+   */
+  boolean isCompiledFrom(List<HeaderMapping> headers) {
+    return source == headers;
+  }
+
+  /**
+   * Adds the headers to a record.
+   *
+   * @param describe whether the headers have to be described for the sample result
+   * @return the headers as {@code name:value} pairs separated by commas, or {@code null} when not described
+   */
+  String addTo(ProducerRecord<Object, Object> producerRecord, boolean describe) {
+    StringBuilder description = describe ? new StringBuilder() : null;
+    for (int i = 0; i < names.length; i++) {
+      byte[] value = staticValues[i];
+      String generated = null;
+      if (Objects.isNull(value)) {
+        generated = statelessGeneratorTool.generateObject(names[i], resolvedTypes[i], types[i], 10, emptyList()).toString();
+        value = generated.getBytes(StandardCharsets.UTF_8);
+      }
+      producerRecord.headers().add(names[i], value);
+      if (describe) {
+        if (i > 0) {
+          description.append(',');
+        }
+        description.append(names[i]).append(':').append(Objects.isNull(generated) ? types[i] : generated);
+      }
+    }
+    return describe ? description.toString() : null;
+  }
+}
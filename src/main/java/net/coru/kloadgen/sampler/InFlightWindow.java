@@ -0,0 +1,142 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * Bounded window of records sent without waiting for the broker acknowledgement.
+ * <p>
+ * Every send takes a permit that is given back by the producer callback, so a thread never has more than
+ * {@code maxInFlight} records waiting for an ack. Acks are turned into {@link SampleResult}s measured from
+ * send to callback and are handed back to the sampler thread through {@link #drainInto(SampleResult)}.
+ */
+@Slf4j
+public class InFlightWindow {
+
+  private final int maxInFlight;
+
+  private final Semaphore permits;
+
+  private final Queue<SampleResult> completed = new ConcurrentLinkedQueue<>();
+
+  private final boolean describeAcks;
+
+  private final LatencyRecorder latencyRecorder;
+
+  private final RateSchedule rateSchedule;
+
+  public InFlightWindow(int maxInFlight) {
+    this(maxInFlight, true);
+  }
+
+  public InFlightWindow(int maxInFlight, boolean describeAcks) {
+    this(maxInFlight, describeAcks, null, null);
+  }
+
+  InFlightWindow(int maxInFlight, boolean describeAcks, LatencyRecorder latencyRecorder, RateSchedule rateSchedule) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("Max in flight records must be greater than 0");
+    }
+    this.maxInFlight = maxInFlight;
+    this.permits = new Semaphore(maxInFlight);
+    this.describeAcks = describeAcks;
+    this.latencyRecorder = latencyRecorder;
+    this.rateSchedule = rateSchedule;
+  }
+
+  public void send(Producer<Object, Object> producer, ProducerRecord<Object, Object> producerRecord, String label) throws InterruptedException {
+    send(producer, producerRecord, label, System.nanoTime());
+  }
+
+  /**
+   * Sends a record whose ack is measured from its intended send time, so the wait for a permit and any delay of the
+   * sampler thread count as latency.
+   *
+   * @param intendedAt {@link System#nanoTime()} at which the record was meant to be sent
+   */
+  void send(Producer<Object, Object> producer, ProducerRecord<Object, Object> producerRecord, String label, long intendedAt)
+      throws InterruptedException {
+    permits.acquire();
+    SampleResult ackResult = new SampleResult();
+    ackResult.setSampleLabel(label);
+    long startTime = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedAt);
+    try {
+      producer.send(producerRecord, (metadata, exception) -> complete(ackResult, intendedAt, startTime, metadata, exception));
+    } catch (RuntimeException exc) {
+      permits.release();
+      throw exc;
+    }
+  }
+
+  public int drainInto(SampleResult parent) {
+    int drained = 0;
+    boolean successful = true;
+    SampleResult ackResult = completed.poll();
+    while (Objects.nonNull(ackResult)) {
+      parent.addRawSubResult(ackResult);
+      successful &= ackResult.isSuccessful();
+      drained++;
+      ackResult = completed.poll();
+    }
+    if (!successful) {
+      parent.setSuccessful(false);
+    }
+    return drained;
+  }
+
+  public int inFlight() {
+    return maxInFlight - permits.availablePermits();
+  }
+
+  public boolean awaitCompletion(Duration timeout) throws InterruptedException {
+    boolean allAcked = permits.tryAcquire(maxInFlight, timeout.toMillis(), TimeUnit.MILLISECONDS);
+    if (allAcked) {
+      permits.release(maxInFlight);
+    }
+    return allAcked;
+  }
+
+  private void complete(SampleResult ackResult, long intendedAt, long startTime, RecordMetadata metadata, Exception exception) {
+    try {
+      long elapsed = System.nanoTime() - intendedAt;
+      ackResult.setStampAndTime(startTime, TimeUnit.NANOSECONDS.toMillis(elapsed));
+      if (Objects.isNull(exception)) {
+        if (Objects.nonNull(latencyRecorder)) {
+          latencyRecorder.recordSend(elapsed);
+        }
+        if (Objects.nonNull(rateSchedule)) {
+          rateSchedule.recordAcked(Math.max(metadata.serializedKeySize(), 0) + Math.max(metadata.serializedValueSize(), 0));
+        }
+        if (describeAcks) {
+          ackResult.setResponseData(String.format("Topic: %s, partition: %s, offset: %s", metadata.topic(), metadata.partition(), metadata.offset()),
+                                    StandardCharsets.UTF_8.name());
+        }
+        ackResult.setSuccessful(true);
+      } else {
+        log.error("Send failed", exception);
+        ackResult.setResponseData(Objects.requireNonNullElse(exception.getMessage(), ""), StandardCharsets.UTF_8.name());
+        ackResult.setSuccessful(false);
+      }
+      completed.add(ackResult);
+    } finally {
+      permits.release();
+    }
+  }
+}
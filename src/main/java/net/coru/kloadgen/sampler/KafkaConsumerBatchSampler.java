@@ -0,0 +1,155 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_INTERVAL_MS;
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_INTERVAL_MS_DEFAULT;
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_MODE;
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_MODE_DEFAULT;
+import static net.coru.kloadgen.util.PropsKeysHelper.MAX_POLL_RECORDS_DEFAULT;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterThread;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+
+/**
+ * Variant of {@link KafkaConsumerSampler} that reads a whole poll per sample.
+ * <p>
+ * Polls return up to {@code max.poll.records} records and the offsets are committed without blocking, either after
+ * every poll or every {@code commit.interval.ms}. Records are not rendered: the single {@link SampleResult} carries the
+ * record count, the serialized bytes, the fetch latency and the lag left on the assigned partitions.
+ */
+public class KafkaConsumerBatchSampler extends KafkaConsumerSampler {
+
+  private static final long serialVersionUID = 1L;
+
+  private CommitMode commitMode;
+
+  private long commitIntervalNanos;
+
+  private long lastCommit;
+
+  @Override
+  public void setupTest(JavaSamplerContext context) {
+    configureBatch(context);
+    super.setupTest(context);
+  }
+
+  void configureBatch(JavaSamplerContext context) {
+    commitMode = CommitMode.valueOf(context.getParameter(COMMIT_MODE, COMMIT_MODE_DEFAULT).toUpperCase(Locale.ROOT));
+    commitIntervalNanos = Duration.ofMillis(Long.parseLong(context.getParameter(COMMIT_INTERVAL_MS, COMMIT_INTERVAL_MS_DEFAULT))).toNanos();
+    lastCommit = System.nanoTime();
+  }
+
+  @Override
+  public Properties properties(JavaSamplerContext context) {
+    Properties props = super.properties(context);
+    props.put(MAX_POLL_RECORDS_CONFIG, context.getParameter(MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS_DEFAULT));
+    return props;
+  }
+
+  @Override
+  public void teardownTest(JavaSamplerContext context) {
+    if (Objects.nonNull(getConsumer())) {
+      try {
+        getConsumer().commitSync();
+      } catch (Exception e) {
+        logger().warn("Failed to commit the last offsets", e);
+      }
+    }
+    super.teardownTest(context);
+  }
+
+  @Override
+  public Arguments getDefaultParameters() {
+    Arguments defaultParameters = super.getDefaultParameters();
+    defaultParameters.addArgument(MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS_DEFAULT);
+    defaultParameters.addArgument(COMMIT_MODE, COMMIT_MODE_DEFAULT);
+    defaultParameters.addArgument(COMMIT_INTERVAL_MS, COMMIT_INTERVAL_MS_DEFAULT);
+    return defaultParameters;
+  }
+
+  @Override
+  public SampleResult runTest(JavaSamplerContext javaSamplerContext) {
+    SampleResult sampleResult = new SampleResult();
+    sampleResult.sampleStart();
+    JMeterThread thread = javaSamplerContext.getJMeterContext().getThread();
+    Consumer<Object, Object> consumer = getConsumer();
+    try {
+      ConsumerRecords<Object, Object> records = consumer.poll(Duration.ofMillis(getTimeout()));
+      if (records.isEmpty()) {
+        sampleResult = null;
+        if (Objects.nonNull(thread)) {
+          thread.stop();
+        }
+      } else {
+        sampleResult.latencyEnd();
+        long bytes = 0;
+        for (ConsumerRecord<Object, Object> consumerRecord : records) {
+          bytes += Math.max(consumerRecord.serializedKeySize(), 0) + Math.max(consumerRecord.serializedValueSize(), 0);
+        }
+        commit(consumer);
+        sampleResult.sampleEnd();
+        sampleResult.setSampleCount(records.count());
+        sampleResult.setBytes(bytes);
+        sampleResult.setSuccessful(true);
+        sampleResult.setSamplerData(String.format("poll of %s records", records.count()));
+        String summary = String.format("Records: %s, bytes: %s, fetch: %s ms, lag: %s", records.count(), bytes, sampleResult.getLatency(), lag(consumer));
+        if (Objects.nonNull(getEndToEndLatency())) {
+          summary += ", " + getEndToEndLatency().record(records);
+        }
+        sampleResult.setResponseData(summary, StandardCharsets.UTF_8.name());
+      }
+    } catch (Exception e) {
+      logger().error("Failed to receive messages", e);
+      sampleResult.sampleEnd();
+      sampleResult.setSuccessful(false);
+      sampleResult.setResponseData(Objects.requireNonNullElse(e.getMessage(), ""), StandardCharsets.UTF_8.name());
+    }
+    return sampleResult;
+  }
+
+  private void commit(Consumer<Object, Object> consumer) {
+    long now = System.nanoTime();
+    if (CommitMode.ASYNC == commitMode || now - lastCommit >= commitIntervalNanos) {
+      lastCommit = now;
+      consumer.commitAsync((offsets, exception) -> {
+        if (Objects.nonNull(exception)) {
+          logger().warn("Failed to commit offsets {}", offsets, exception);
+        }
+      });
+    }
+  }
+
+  private static long lag(Consumer<Object, Object> consumer) {
+    long lag = 0;
+    for (TopicPartition topicPartition : consumer.assignment()) {
+      OptionalLong partitionLag = consumer.currentLag(topicPartition);
+      if (partitionLag.isPresent()) {
+        lag += partitionLag.getAsLong();
+      }
+    }
+    return lag;
+  }
+
+  private enum CommitMode {
+    ASYNC, PERIODIC
+  }
+}
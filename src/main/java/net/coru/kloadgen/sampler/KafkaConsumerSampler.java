@@ -7,7 +7,9 @@
 package net.coru.kloadgen.sampler;
 
 import static net.coru.kloadgen.util.ProducerKeysHelper.KAFKA_TOPIC_CONFIG;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_HEADER;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG;
+import static org.apache.kafka.clients.consumer.ConsumerConfig.GROUP_ID_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.MAX_POLL_RECORDS_CONFIG;
 import static org.apache.kafka.clients.consumer.ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG;
 
@@ -23,6 +25,7 @@ import java.util.Properties;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.avro.Conversions;
 import org.apache.avro.data.TimeConversions;
 import org.apache.avro.generic.GenericData;
@@ -31,6 +34,7 @@ import org.apache.jmeter.protocol.java.sampler.AbstractJavaSamplerClient;
 import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
 import org.apache.jmeter.samplers.SampleResult;
 import org.apache.jmeter.threads.JMeterThread;
+import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
@@ -45,6 +49,8 @@ public class KafkaConsumerSampler extends AbstractJavaSamplerClient implements S
 
   private transient KafkaConsumer<Object, Object> consumer;
 
+  private transient EndToEndLatency endToEndLatency;
+
   @Override
   public void setupTest(JavaSamplerContext context) {
 
@@ -52,6 +58,10 @@ public class KafkaConsumerSampler extends AbstractJavaSamplerClient implements S
     String topic = context.getParameter(KAFKA_TOPIC_CONFIG);
     consumer = new KafkaConsumer<>(props);
     configGenericData();
+    String latencyHeader = context.getParameter(LATENCY_HEADER, "");
+    if (StringUtils.isNotBlank(latencyHeader)) {
+      endToEndLatency = EndToEndLatency.forGroup(latencyHeader.trim(), props.getProperty(GROUP_ID_CONFIG));
+    }
 
     consumer.subscribe(Collections.singletonList(topic));
   }
@@ -85,6 +95,12 @@ public class KafkaConsumerSampler extends AbstractJavaSamplerClient implements S
     if (Objects.nonNull(consumer)) {
       consumer.close();
     }
+    if (Objects.nonNull(endToEndLatency)) {
+      String totals = endToEndLatency.release();
+      if (Objects.nonNull(totals)) {
+        logger().info("End-to-end latency of group {}: {}", context.getParameter(GROUP_ID_CONFIG), totals);
+      }
+    }
   }
 
   @Override
@@ -106,7 +122,11 @@ public class KafkaConsumerSampler extends AbstractJavaSamplerClient implements S
         if (!records.isEmpty()) {
           running = false;
           ConsumerRecord<Object, Object> consumerRecord = records.iterator().next();
-          fillSampleResult(sampleResult, prettify(consumerRecord), true);
+          String responseData = prettify(consumerRecord);
+          if (Objects.nonNull(endToEndLatency)) {
+            responseData += ", " + endToEndLatency.record(records);
+          }
+          fillSampleResult(sampleResult, responseData, true);
           consumer.commitSync();
         }
 
@@ -140,6 +160,18 @@ public class KafkaConsumerSampler extends AbstractJavaSamplerClient implements S
            ", value: " + consumerRecord.value().toString() + " }}";
   }
 
+  Consumer<Object, Object> getConsumer() {
+    return consumer;
+  }
+
+  Long getTimeout() {
+    return timeout;
+  }
+
+  EndToEndLatency getEndToEndLatency() {
+    return endToEndLatency;
+  }
+
   protected Logger logger() {
     return KafkaConsumerSampler.log;
   }
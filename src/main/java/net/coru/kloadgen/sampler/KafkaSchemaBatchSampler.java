@@ -0,0 +1,238 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_RECORDS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_RECORDS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_SUB_RESULTS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_NO;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_YES;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_SECONDS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_START;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_UNIT;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterContext;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+
+/**
+ * Variant of {@link KafkaSchemaSampler} that sends {@code batch.records} records per sample.
+ * <p>
+ * Records are sent back to back and the sample ends once every acknowledgement of the batch is in. The single
+ * {@link SampleResult} carries the record and error counts, the acknowledged bytes and the p50/p99 send-to-ack
+ * latency, which keeps JMeter's per-sample overhead out of the way at high record rates.
+ */
+public class KafkaSchemaBatchSampler extends KafkaSchemaSampler {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final long BATCH_TIMEOUT_MS = 30_000L;
+
+  private int batchRecords;
+
+  private boolean subResults;
+
+  @Override
+  public void setupTest(JavaSamplerContext context) {
+    configureBatch(context);
+    super.setupTest(context);
+  }
+
+  void configureBatch(JavaSamplerContext context) {
+    batchRecords = context.getIntParameter(BATCH_RECORDS, Integer.parseInt(BATCH_RECORDS_DEFAULT));
+    if (batchRecords < 1) {
+      throw new IllegalArgumentException("Batch records must be greater than 0");
+    }
+    if (Double.parseDouble(context.getParameter(RATE_TARGET, RATE_TARGET_DEFAULT)) > 0) {
+      throw new IllegalArgumentException("Rate target is not supported by the batch sampler");
+    }
+    subResults = FLAG_YES.equalsIgnoreCase(context.getParameter(BATCH_SUB_RESULTS, FLAG_NO));
+  }
+
+  @Override
+  public Arguments getDefaultParameters() {
+    Arguments defaultParameters = super.getDefaultParameters();
+    defaultParameters.removeArgument(RATE_TARGET);
+    defaultParameters.removeArgument(RATE_UNIT);
+    defaultParameters.removeArgument(RATE_RAMP_START);
+    defaultParameters.removeArgument(RATE_RAMP_SECONDS);
+    defaultParameters.addArgument(BATCH_RECORDS, BATCH_RECORDS_DEFAULT);
+    defaultParameters.addArgument(BATCH_SUB_RESULTS, FLAG_NO);
+    return defaultParameters;
+  }
+
+  @Override
+  public SampleResult runTest(JavaSamplerContext javaSamplerContext) {
+
+    SampleResult sampleResult = new SampleResult();
+    sampleResult.sampleStart();
+    JMeterContext jMeterContext = JMeterContextService.getContext();
+    String label = javaSamplerContext.getJMeterContext().getCurrentSampler().getName();
+    BatchAcks acks = new BatchAcks(batchRecords, subResults ? label : null, describeSample());
+
+    int sent = 0;
+    String error = null;
+    try {
+      while (sent < batchRecords && Objects.isNull(error)) {
+        ProducerRecord<Object, Object> producerRecord = nextProducerRecord(null);
+        if (Objects.isNull(producerRecord)) {
+          error = "Failed to Generate message";
+        } else {
+          String headers = addHeaders(producerRecord, jMeterContext, 0 == sent);
+          if (Objects.nonNull(headers)) {
+            sampleResult.setRequestHeaders(headers);
+          }
+          acks.send(sent++, producerRecord, this);
+        }
+      }
+    } catch (Exception e) {
+      getNewLogger().error("Failed to send message", e);
+      error = Objects.requireNonNullElse(e.getMessage(), "");
+    }
+    try {
+      if (!acks.await(sent)) {
+        error = "Timed out waiting for the batch acknowledgements";
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      error = "Interrupted while waiting for the batch acknowledgements";
+    }
+    acks.fill(sampleResult, sent, error);
+    return sampleResult;
+  }
+
+  /**
+   * Acknowledgement bookkeeping for a single batch. Callbacks run on the producer I/O thread and only write their own
+   * slot, the sampler thread reads the slots once the latch is released.
+   */
+  private static final class BatchAcks {
+
+    private final long[] sentAt;
+
+    private final long[] latencies;
+
+    private final boolean[] failed;
+
+    private final int[] bytes;
+
+    private final SampleResult[] ackResults;
+
+    private final String label;
+
+    private final CountDownLatch pending;
+
+    private final boolean describe;
+
+    private BatchAcks(int size, String label, boolean describe) {
+      this.sentAt = new long[size];
+      this.latencies = new long[size];
+      this.failed = new boolean[size];
+      this.bytes = new int[size];
+      this.ackResults = Objects.isNull(label) ? null : new SampleResult[size];
+      this.label = label;
+      this.pending = new CountDownLatch(size);
+      this.describe = describe;
+    }
+
+    private void send(int slot, ProducerRecord<Object, Object> producerRecord, KafkaSchemaBatchSampler sampler) {
+      if (Objects.nonNull(ackResults)) {
+        ackResults[slot] = new SampleResult();
+        ackResults[slot].setSampleLabel(label);
+        ackResults[slot].sampleStart();
+      }
+      sentAt[slot] = System.nanoTime();
+      try {
+        sampler.getProducer().send(producerRecord, (metadata, exception) -> complete(slot, metadata, exception, sampler));
+      } catch (RuntimeException exc) {
+        complete(slot, null, exc, sampler);
+        throw exc;
+      }
+    }
+
+    private void complete(int slot, RecordMetadata metadata, Exception exception, KafkaSchemaBatchSampler sampler) {
+      latencies[slot] = System.nanoTime() - sentAt[slot];
+      failed[slot] = Objects.nonNull(exception);
+      if (Objects.isNull(exception)) {
+        sampler.recordSendLatency(latencies[slot]);
+        bytes[slot] = Math.max(metadata.serializedKeySize(), 0) + Math.max(metadata.serializedValueSize(), 0);
+      } else {
+        sampler.getNewLogger().error("Send failed", exception);
+      }
+      if (Objects.nonNull(ackResults)) {
+        SampleResult ackResult = ackResults[slot];
+        ackResult.sampleEnd();
+        ackResult.setSuccessful(Objects.isNull(exception));
+        if (Objects.nonNull(exception)) {
+          ackResult.setResponseData(Objects.requireNonNullElse(exception.getMessage(), ""), StandardCharsets.UTF_8.name());
+        } else if (describe) {
+          ackResult.setResponseData(String.format("Topic: %s, partition: %s, offset: %s", metadata.topic(), metadata.partition(), metadata.offset()),
+                                    StandardCharsets.UTF_8.name());
+        }
+      }
+      pending.countDown();
+    }
+
+    private boolean await(int sent) throws InterruptedException {
+      for (int slot = sent; slot < sentAt.length; slot++) {
+        pending.countDown();
+      }
+      return pending.await(BATCH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    private void fill(SampleResult sampleResult, int sent, String error) {
+      int errors = 0;
+      long totalBytes = 0;
+      long[] acked = new long[sent];
+      int ackedCount = 0;
+      boolean complete = 0 == pending.getCount();
+      for (int slot = 0; complete && slot < sent; slot++) {
+        if (failed[slot]) {
+          errors++;
+        } else {
+          totalBytes += bytes[slot];
+          acked[ackedCount++] = latencies[slot];
+        }
+        if (Objects.nonNull(ackResults)) {
+          sampleResult.addRawSubResult(ackResults[slot]);
+        }
+      }
+      acked = Arrays.copyOf(acked, ackedCount);
+      Arrays.sort(acked);
+
+      sampleResult.sampleEnd();
+      sampleResult.setSampleCount(Math.max(sent, 1));
+      sampleResult.setErrorCount(complete ? errors : Math.max(sent, 1));
+      sampleResult.setBytes(totalBytes);
+      sampleResult.setSuccessful(Objects.isNull(error) && 0 == errors);
+      sampleResult.setSamplerData(String.format("batch of %s records", sent));
+      String summary = String.format("Records: %s, failed: %s, bytes: %s, p50 ack: %s ms, p99 ack: %s ms",
+                                     sent, errors, totalBytes, percentileMillis(acked, 50), percentileMillis(acked, 99));
+      sampleResult.setResponseData(Objects.isNull(error) ? summary : error + ". " + summary, StandardCharsets.UTF_8.name());
+    }
+
+    private static double percentileMillis(long[] sorted, int percentile) {
+      double millis = 0;
+      if (sorted.length > 0) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        millis = sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+      }
+      return millis;
+    }
+  }
+}
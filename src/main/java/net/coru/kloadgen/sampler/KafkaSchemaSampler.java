@@ -9,9 +9,38 @@ package net.coru.kloadgen.sampler;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_MAX_IN_FLIGHT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_MAX_IN_FLIGHT_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_SEND_ENABLED;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_NO;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_YES;
 import static net.coru.kloadgen.util.ProducerKeysHelper.KAFKA_HEADERS;
 import static net.coru.kloadgen.util.ProducerKeysHelper.KAFKA_TOPIC_CONFIG;
 import static net.coru.kloadgen.util.ProducerKeysHelper.KEY_SERIALIZER_CLASS_CONFIG_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_HEADER;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_FILE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_INTERVAL_MS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_INTERVAL_MS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE_SAMPLE_RATE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE_SAMPLE_RATE_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_SEQUENCE_HEADER;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_SIZE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_STORAGE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_STORAGE_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_THREADS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_THREADS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RANDOM_SEED;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_SECONDS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_SECONDS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_START;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_START_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_UNIT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_UNIT_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.VALUE_NAME_STRATEGY;
 import static net.coru.kloadgen.util.PropsKeysHelper.KEY_SUBJECT_NAME;
 import static net.coru.kloadgen.util.PropsKeysHelper.MESSAGE_KEY_KEY_TYPE;
@@ -22,19 +51,27 @@ import static net.coru.kloadgen.util.PropsKeysHelper.SIMPLE_KEYED_MESSAGE_KEY;
 import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG;
 import static org.apache.kafka.clients.producer.ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Future;
 
 import lombok.SneakyThrows;
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.loadgen.BaseLoadGenerator;
+import net.coru.kloadgen.loadgen.MessagePool;
 import net.coru.kloadgen.model.HeaderMapping;
+import net.coru.kloadgen.randomtool.random.RandomSource;
 import net.coru.kloadgen.randomtool.generator.StatelessGeneratorTool;
 import net.coru.kloadgen.serializer.AvroSerializer;
 import net.coru.kloadgen.serializer.EnrichedRecord;
@@ -43,16 +80,23 @@ import org.apache.avro.Conversions;
 import org.apache.avro.data.TimeConversions;
 import org.apache.avro.generic.GenericData;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.jmeter.JMeter;
 import org.apache.jmeter.config.Arguments;
 import org.apache.jmeter.protocol.java.sampler.AbstractJavaSamplerClient;
 import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
 import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.samplers.SampleSaveConfiguration;
+import org.apache.jmeter.testelement.TestElement;
 import org.apache.jmeter.threads.JMeterContext;
 import org.apache.jmeter.threads.JMeterContextService;
 import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.utils.Utils;
 
 public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Serializable {
 
@@ -60,9 +104,13 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
 
   private static final long serialVersionUID = 1L;
 
+  private static final Duration IN_FLIGHT_TIMEOUT = Duration.ofSeconds(30);
+
   private final transient StatelessGeneratorTool statelessGeneratorTool = new StatelessGeneratorTool();
 
-  private transient KafkaProducer<Object, Object> producer;
+  private transient Producer<Object, Object> producer;
+
+  private transient SharedProducerPool.Key sharedProducerKey;
 
   private String topic;
 
@@ -78,8 +126,40 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
 
   private transient Properties props;
 
+  private transient InFlightWindow inFlightWindow;
+
+  private transient MessagePool messagePool;
+
+  private String poolSequenceHeader;
+
+  private long poolSequence;
+
+  private int describeEvery = 1;
+
+  private long describeCount;
+
+  private transient HeaderPlan headerPlan = HeaderPlan.EMPTY;
+
+  private boolean describeHeaders;
+
+  private String latencyHeader;
+
+  private long latencySource;
+
+  private long latencySequence;
+
+  private transient LatencyRecorder latencyRecorder;
+
+  private transient RateSchedule rateSchedule;
+
+  private long messagePoolBytes;
+
   @Override
   public void setupTest(JavaSamplerContext context) {
+    String randomSeed = context.getParameter(RANDOM_SEED, "");
+    if (StringUtils.isNotBlank(randomSeed)) {
+      RandomSource.seedCurrentThread(Long.parseLong(randomSeed.trim()));
+    }
     props = properties(context);
     generator = SamplerUtil.configureValueGenerator(props);
 
@@ -100,13 +180,195 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
     }
 
     topic = context.getParameter(KAFKA_TOPIC_CONFIG);
+    if (FLAG_YES.equalsIgnoreCase(context.getParameter(LEAN_MODE, FLAG_NO))) {
+      describeEvery = Math.max(context.getIntParameter(LEAN_MODE_SAMPLE_RATE, Integer.parseInt(LEAN_MODE_SAMPLE_RATE_DEFAULT)), 0);
+    }
+    describeHeaders = !JMeter.isNonGUI() || SampleSaveConfiguration.staticConfig().saveRequestHeaders();
+    latencyHeader = StringUtils.trimToNull(context.getParameter(LATENCY_HEADER, ""));
+    latencySource = UUID.randomUUID().getMostSignificantBits();
+    String latencyReport = context.getParameter(LATENCY_REPORT_FILE, "");
+    if (StringUtils.isNotBlank(latencyReport)) {
+      latencyRecorder = LatencyRecorder.register(Paths.get(latencyReport.trim()),
+                                                 context.getLongParameter(LATENCY_REPORT_INTERVAL_MS, Long.parseLong(LATENCY_REPORT_INTERVAL_MS_DEFAULT)));
+    }
+    double rateTarget = Double.parseDouble(context.getParameter(RATE_TARGET, RATE_TARGET_DEFAULT));
+    if (rateTarget > 0) {
+      rateSchedule = RateSchedule.acquire(context.getJMeterContext().getThreadGroup().getName() + "/" + context.getParameter(TestElement.NAME, ""),
+                                          RateSchedule.Unit.valueOf(context.getParameter(RATE_UNIT, RATE_UNIT_DEFAULT).toUpperCase(Locale.ROOT)),
+                                          rateTarget,
+                                          Double.parseDouble(context.getParameter(RATE_RAMP_START, RATE_RAMP_START_DEFAULT)),
+                                          Double.parseDouble(context.getParameter(RATE_RAMP_SECONDS, RATE_RAMP_SECONDS_DEFAULT)));
+    }
+    if (Objects.nonNull(rateSchedule) || FLAG_YES.equalsIgnoreCase(context.getParameter(ASYNC_SEND_ENABLED, FLAG_NO))) {
+      inFlightWindow = new InFlightWindow(context.getIntParameter(ASYNC_MAX_IN_FLIGHT, Integer.parseInt(ASYNC_MAX_IN_FLIGHT_DEFAULT)), 1 == describeEvery,
+                                          latencyRecorder, rateSchedule);
+    }
+    int poolSize = context.getIntParameter(MESSAGE_POOL_SIZE, 0);
+    if (poolSize > 0) {
+      var storage = MessagePool.Storage.valueOf(context.getParameter(MESSAGE_POOL_STORAGE, MESSAGE_POOL_STORAGE_DEFAULT).toUpperCase(Locale.ROOT));
+      messagePool = fillMessagePool(MessagePool.create(storage, poolSize));
+      if (Objects.nonNull(rateSchedule)) {
+        rateSchedule.seedRecordSize(messagePoolBytes / messagePool.size());
+      }
+      poolSequenceHeader = context.getParameter(MESSAGE_POOL_SEQUENCE_HEADER, "");
+      props.put(KEY_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+      props.put(VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class.getName());
+    }
     try {
-      producer = new KafkaProducer<>(props);
+      createProducer(context);
     } catch (KafkaException e) {
       getNewLogger().error(e.getMessage(), e);
     }
   }
 
+  private void createProducer(JavaSamplerContext context) {
+    var sharing = SharedProducerPool.Sharing.valueOf(context.getParameter(PRODUCER_SHARING, PRODUCER_SHARING_DEFAULT).toUpperCase(Locale.ROOT));
+    JMeterContext jMeterContext = context.getJMeterContext();
+    sharedProducerKey = SharedProducerPool.keyFor(sharing, props, jMeterContext.getThreadGroup().getName(), jMeterContext.getThreadNum(),
+                                                  context.getIntParameter(PRODUCER_SHARING_THREADS, Integer.parseInt(PRODUCER_SHARING_THREADS_DEFAULT)),
+                                                  topic);
+    if (Objects.isNull(sharedProducerKey)) {
+      producer = new KafkaProducer<>(props);
+    } else {
+      producer = SharedProducerPool.acquire(sharedProducerKey, () -> new KafkaProducer<>(props));
+    }
+  }
+
+  private MessagePool fillMessagePool(MessagePool pool) {
+    Map<String, Object> configs = Utils.propsToMap(props);
+    try (Serializer<Object> keySerializer = newSerializer(KEY_SERIALIZER_CLASS_CONFIG, configs, true);
+         Serializer<Object> valueSerializer = newSerializer(VALUE_SERIALIZER_CLASS_CONFIG, configs, false)) {
+      while (!pool.isFull()) {
+        EnrichedRecord messageVal = generator.nextMessage();
+        if (Objects.isNull(messageVal)) {
+          throw new KLoadGenException("Failed to Generate message");
+        }
+        ProducerRecord<Object, Object> producerRecord = getProducerRecord(messageVal, enrichedKeyFlag(), enrichedValueFlag());
+        byte[] key = keySerializer.serialize(topic, producerRecord.key());
+        byte[] value = valueSerializer.serialize(topic, producerRecord.value());
+        pool.add(key, value);
+        messagePoolBytes += sizeOf(key) + sizeOf(value);
+      }
+    }
+    getNewLogger().info("Message pool filled with {} records", pool.size());
+    return pool;
+  }
+
+  /**
+   * Gives a byte rate the serialized size of the first generated record, so that it does not send unpaced until the
+   * first acknowledgement.
+   */
+  private void seedRateSchedule(ProducerRecord<Object, Object> producerRecord) {
+    Map<String, Object> configs = Utils.propsToMap(props);
+    try (Serializer<Object> keySerializer = newSerializer(KEY_SERIALIZER_CLASS_CONFIG, configs, true);
+         Serializer<Object> valueSerializer = newSerializer(VALUE_SERIALIZER_CLASS_CONFIG, configs, false)) {
+      rateSchedule.seedRecordSize(sizeOf(keySerializer.serialize(topic, producerRecord.key())) + sizeOf(valueSerializer.serialize(topic, producerRecord.value())));
+    }
+  }
+
+  private static long sizeOf(byte[] serialized) {
+    return Objects.isNull(serialized) ? 0 : serialized.length;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Serializer<Object> newSerializer(String serializerConfig, Map<String, Object> configs, boolean isKey) {
+    try {
+      Serializer<Object> serializer = Utils.newInstance(props.get(serializerConfig).toString(), Serializer.class);
+      serializer.configure(configs, isKey);
+      return serializer;
+    } catch (ClassNotFoundException e) {
+      throw new KLoadGenException("Unable to create serializer for the message pool", e);
+    }
+  }
+
+  private ProducerRecord<Object, Object> getPooledProducerRecord(SampleResult sampleResult) {
+    int index = messagePool.nextIndex();
+    ProducerRecord<Object, Object> producerRecord = new ProducerRecord<>(topic, messagePool.key(index), messagePool.value(index));
+    if (StringUtils.isNotBlank(poolSequenceHeader)) {
+      producerRecord.headers().add(poolSequenceHeader, ByteBuffer.allocate(Long.BYTES).putLong(poolSequence++).array());
+    }
+    if (Objects.nonNull(sampleResult)) {
+      sampleResult.setSamplerData("pooled message: " + index);
+    }
+    return producerRecord;
+  }
+
+  /**
+   * Builds the next record to send, either from the generators or from the message pool.
+   *
+   * @param sampleResult result to describe the record into, or {@code null} to skip the description
+   * @return the record, or {@code null} when the generator could not produce a message
+   */
+  ProducerRecord<Object, Object> nextProducerRecord(SampleResult sampleResult) {
+    long startedAt = System.nanoTime();
+    ProducerRecord<Object, Object> producerRecord = null;
+    if (Objects.nonNull(messagePool)) {
+      producerRecord = getPooledProducerRecord(sampleResult);
+      recordGenerationLatency(System.nanoTime() - startedAt);
+    } else {
+      EnrichedRecord messageVal = generator.nextMessage();
+      if (Objects.nonNull(messageVal)) {
+        producerRecord = getProducerRecord(messageVal, enrichedKeyFlag(), enrichedValueFlag());
+        recordGenerationLatency(System.nanoTime() - startedAt);
+        if (Objects.nonNull(sampleResult)) {
+          fillSamplerResult(producerRecord, sampleResult);
+        }
+      }
+    }
+    return producerRecord;
+  }
+
+  /**
+   * Tells whether the current sample should stringify and log its record. Outside lean mode every sample does, in lean
+   * mode only one in {@code lean.mode.sample.rate} samples does, or none when the rate is 0.
+   */
+  boolean describeSample() {
+    return 1 == describeEvery || (describeEvery > 1 && 0 == describeCount++ % describeEvery);
+  }
+
+  /**
+   * Adds the configured Kafka headers to a record, then the latency stamp when {@code latency.header} is set. The
+   * headers are compiled again only when the configured list changes.
+   *
+   * @param describe whether the sample is described
+   * @return the headers to show as request headers, or {@code null} when the sample is not described or its request
+   *     headers are neither shown nor saved
+   */
+  String addHeaders(ProducerRecord<Object, Object> producerRecord, JMeterContext jMeterContext, boolean describe) {
+    List<HeaderMapping> kafkaHeaders = safeGetKafkaHeaders(jMeterContext);
+    if (!headerPlan.isCompiledFrom(kafkaHeaders)) {
+      headerPlan = HeaderPlan.compile(kafkaHeaders);
+    }
+    String description = headerPlan.addTo(producerRecord, describe && describeHeaders);
+    if (Objects.nonNull(latencyHeader)) {
+      producerRecord.headers().add(latencyHeader, EndToEndLatency.stamp(latencySource, latencySequence++));
+    }
+    return description;
+  }
+
+  /**
+   * Records the time from a send to its successful acknowledgement when {@code latency.report.file} is set.
+   */
+  void recordSendLatency(long nanos) {
+    if (Objects.nonNull(latencyRecorder)) {
+      latencyRecorder.recordSend(nanos);
+    }
+  }
+
+  private void recordGenerationLatency(long nanos) {
+    if (Objects.nonNull(latencyRecorder)) {
+      latencyRecorder.recordGeneration(nanos);
+    }
+  }
+
+  Producer<Object, Object> getProducer() {
+    return producer;
+  }
+
+  String getTopic() {
+    return topic;
+  }
+
   protected Properties properties(JavaSamplerContext context) {
     Properties commonProps = SamplerUtil.setupCommonProperties(context);
     if (Objects.nonNull(context.getParameter(VALUE_NAME_STRATEGY))) {
@@ -132,7 +394,28 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
   @Override
   public void teardownTest(JavaSamplerContext context) {
     if (Objects.nonNull(producer)) {
-      producer.close();
+      if (Objects.nonNull(inFlightWindow)) {
+        producer.flush();
+        awaitInFlight();
+      }
+      if (Objects.isNull(sharedProducerKey)) {
+        producer.close();
+      } else {
+        SharedProducerPool.release(sharedProducerKey);
+      }
+    }
+    if (Objects.nonNull(latencyRecorder)) {
+      latencyRecorder.release();
+    }
+    if (Objects.nonNull(rateSchedule)) {
+      rateSchedule.release();
+    }
+    if (Objects.nonNull(messagePool)) {
+      try {
+        messagePool.close();
+      } catch (IOException e) {
+        getNewLogger().warn("Unable to release message pool", e);
+      }
     }
   }
 
@@ -145,32 +428,47 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
   @Override
   public SampleResult runTest(JavaSamplerContext javaSamplerContext) {
 
+    long intendedAt = Objects.isNull(rateSchedule) ? System.nanoTime() : rateSchedule.awaitNextSend();
     SampleResult sampleResult = new SampleResult();
     sampleResult.sampleStart();
     JMeterContext jMeterContext = JMeterContextService.getContext();
-    EnrichedRecord messageVal = generator.nextMessage();
-    List<HeaderMapping> kafkaHeaders = safeGetKafkaHeaders(jMeterContext);
+    boolean describe = describeSample();
+    ProducerRecord<Object, Object> producerRecord = nextProducerRecord(describe ? sampleResult : null);
 
-    if (Objects.nonNull(messageVal)) {
+    if (Objects.nonNull(producerRecord)) {
 
-      ProducerRecord<Object, Object> producerRecord;
       try {
-        producerRecord = getProducerRecord(messageVal, enrichedKeyFlag(), enrichedValueFlag());
-        List<String> headersSB = new ArrayList<>(SamplerUtil.populateHeaders(kafkaHeaders, producerRecord));
-
-        sampleResult.setRequestHeaders(StringUtils.join(headersSB, ","));
-        fillSamplerResult(producerRecord, sampleResult);
-
+        if (Objects.nonNull(rateSchedule) && rateSchedule.needsRecordSize()) {
+          seedRateSchedule(producerRecord);
+        }
+        String headers = addHeaders(producerRecord, jMeterContext, describe);
+        if (Objects.nonNull(headers)) {
+          sampleResult.setRequestHeaders(headers);
+        }
+
+        if (Objects.nonNull(inFlightWindow)) {
+          sendAsync(producerRecord, sampleResult, javaSamplerContext, describe, intendedAt);
+          return sampleResult;
+        }
+
+        long sentAt = System.nanoTime();
         Future<RecordMetadata> result = producer.send(producerRecord, (metadata, e) -> {
-          if (e != null) {
+          if (e == null) {
+            recordSendLatency(System.nanoTime() - sentAt);
+          } else {
             super.getNewLogger().error("Send failed for record {}", producerRecord, e);
             throw new KLoadGenException("Failed to sent message due ", e);
           }
         });
 
-        super.getNewLogger().info("Send message with key: {} and body: {} and headers: {}",
-                                  producerRecord.key(), producerRecord.value(), producerRecord.headers());
-        fillSampleResult(sampleResult, prettyPrint(result.get()), true);
+        RecordMetadata recordMetadata = result.get();
+        if (describe) {
+          super.getNewLogger().info("Send message with key: {} and body: {} and headers: {}",
+                                    producerRecord.key(), producerRecord.value(), producerRecord.headers());
+          fillSampleResult(sampleResult, prettyPrint(recordMetadata), true);
+        } else {
+          fillSampleResult(sampleResult, "", true);
+        }
       } catch (Exception e) {
         super.getNewLogger().error("Failed to send message", e);
         fillSampleResult(sampleResult, e.getMessage() != null ? e.getMessage() : "", false);
@@ -182,13 +480,31 @@ public class KafkaSchemaSampler extends AbstractJavaSamplerClient implements Ser
     return sampleResult;
   }
 
-  private List<HeaderMapping> safeGetKafkaHeaders(JMeterContext jMeterContext) {
-    List<HeaderMapping> headerMappingList = new ArrayList<>();
-    Object headers = jMeterContext.getSamplerContext().get(KAFKA_HEADERS);
-    if (null != headers) {
-      headerMappingList.addAll((List) headers);
+  private void sendAsync(ProducerRecord<Object, Object> producerRecord, SampleResult sampleResult, JavaSamplerContext javaSamplerContext,
+      boolean describe, long intendedAt) throws InterruptedException {
+    String label = javaSamplerContext.getJMeterContext().getCurrentSampler().getName();
+    inFlightWindow.send(producer, producerRecord, label, intendedAt);
+    sampleResult.setSuccessful(true);
+    int acked = inFlightWindow.drainInto(sampleResult);
+    if (describe) {
+      sampleResult.setResponseData(String.format("Acknowledged: %s, in flight: %s", acked, inFlightWindow.inFlight()), StandardCharsets.UTF_8.name());
     }
-    return headerMappingList;
+    sampleResult.sampleEnd();
+  }
+
+  private void awaitInFlight() {
+    try {
+      if (!inFlightWindow.awaitCompletion(IN_FLIGHT_TIMEOUT)) {
+        getNewLogger().warn("Closing producer with {} records still in flight", inFlightWindow.inFlight());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static List<HeaderMapping> safeGetKafkaHeaders(JMeterContext jMeterContext) {
+    Object headers = jMeterContext.getSamplerContext().get(KAFKA_HEADERS);
+    return null == headers ? emptyList() : (List<HeaderMapping>) headers;
   }
 
   private ProducerRecord<Object, Object> getProducerRecord(EnrichedRecord messageVal, boolean keyFlag, boolean valueFlag) {
@@ -0,0 +1,180 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.HdrHistogram.SingleWriterRecorder;
+
+/**
+ * Send and generation latency of a sampler, recorded into HdrHistograms with microsecond resolution.
+ * <p>
+ * Send latency goes from the send call to the producer callback and is recorded from the producer I/O thread,
+ * generation latency is the time taken to build a record and is recorded from the sampler thread. Neither recording
+ * takes a lock. The samplers writing to the same report file are merged every {@code latency.report.interval.ms} and
+ * once more when the last of them ends, appending their p50, p99, p99.9 and max to the file.
+ */
+@Slf4j
+final class LatencyRecorder {
+
+  private static final int SIGNIFICANT_DIGITS = 3;
+
+  private static final Map<Path, Report> REPORTS = new HashMap<>();
+
+  private final Recorder send = new Recorder(SIGNIFICANT_DIGITS);
+
+  private final SingleWriterRecorder generation = new SingleWriterRecorder(SIGNIFICANT_DIGITS);
+
+  private final Report report;
+
+  private Histogram sendInterval;
+
+  private Histogram generationInterval;
+
+  private LatencyRecorder(Report report) {
+    this.report = report;
+  }
+
+  /**
+   * @param file report to append the percentiles to
+   * @param intervalMillis time between two reports, or 0 to report only when the test ends
+   */
+  static LatencyRecorder register(Path file, long intervalMillis) {
+    Path reportFile = file.toAbsolutePath().normalize();
+    LatencyRecorder recorder;
+    synchronized (REPORTS) {
+      recorder = new LatencyRecorder(REPORTS.computeIfAbsent(reportFile, path -> new Report(path, intervalMillis)));
+      recorder.report.add(recorder);
+    }
+    return recorder;
+  }
+
+  void recordSend(long nanos) {
+    send.recordValue(Math.max(nanos, 0) / 1_000);
+  }
+
+  void recordGeneration(long nanos) {
+    generation.recordValue(Math.max(nanos, 0) / 1_000);
+  }
+
+  /**
+   * Merges what is left of this recorder into its report, and writes the final report when it was the last one.
+   */
+  void release() {
+    synchronized (REPORTS) {
+      if (report.remove(this)) {
+        REPORTS.remove(report.file, report);
+      }
+    }
+  }
+
+  private void drainInto(Histogram sendTotal, Histogram generationTotal) {
+    sendInterval = send.getIntervalHistogram(sendInterval);
+    generationInterval = generation.getIntervalHistogram(generationInterval);
+    sendTotal.add(sendInterval);
+    generationTotal.add(generationInterval);
+  }
+
+  /**
+   * Recorders sharing a report file, along with their histograms merged so far.
+   */
+  private static final class Report {
+
+    private static final String HEADER = "timestamp,latency,scope,count,p50_us,p99_us,p99.9_us,max_us";
+
+    private final Path file;
+
+    private final Set<LatencyRecorder> recorders = new HashSet<>();
+
+    private final Histogram sendTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+    private final Histogram generationTotal = new Histogram(SIGNIFICANT_DIGITS);
+
+    private final ScheduledExecutorService scheduler;
+
+    private Report(Path file, long intervalMillis) {
+      this.file = file;
+      write(HEADER, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      if (intervalMillis > 0) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+          Thread thread = new Thread(runnable, "kloadgen-latency-report");
+          thread.setDaemon(true);
+          return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::mergeInterval, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+      } else {
+        scheduler = null;
+      }
+    }
+
+    private synchronized void add(LatencyRecorder recorder) {
+      recorders.add(recorder);
+    }
+
+    private synchronized boolean remove(LatencyRecorder recorder) {
+      recorder.drainInto(sendTotal, generationTotal);
+      recorders.remove(recorder);
+      boolean last = recorders.isEmpty();
+      if (last) {
+        if (Objects.nonNull(scheduler)) {
+          scheduler.shutdownNow();
+        }
+        append("total", sendTotal, generationTotal);
+      }
+      return last;
+    }
+
+    private synchronized void mergeInterval() {
+      if (!recorders.isEmpty()) {
+        Histogram sendMerged = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram generationMerged = new Histogram(SIGNIFICANT_DIGITS);
+        for (LatencyRecorder recorder : recorders) {
+          recorder.drainInto(sendMerged, generationMerged);
+        }
+        sendTotal.add(sendMerged);
+        generationTotal.add(generationMerged);
+        append("interval", sendMerged, generationMerged);
+      }
+    }
+
+    private void append(String scope, Histogram sendHistogram, Histogram generationHistogram) {
+      String timestamp = Instant.now().toString();
+      write(line(timestamp, "send", scope, sendHistogram) + System.lineSeparator() + line(timestamp, "generation", scope, generationHistogram),
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void write(String lines, StandardOpenOption... options) {
+      try {
+        Files.write(file, (lines + System.lineSeparator()).getBytes(StandardCharsets.UTF_8), options);
+      } catch (IOException e) {
+        log.warn("Unable to write latency report {}", file, e);
+      }
+    }
+
+    private static String line(String timestamp, String latency, String scope, Histogram histogram) {
+      return String.join(",", timestamp, latency, scope, String.valueOf(histogram.getTotalCount()),
+                         String.valueOf(histogram.getValueAtPercentile(50.0)), String.valueOf(histogram.getValueAtPercentile(99.0)),
+                         String.valueOf(histogram.getValueAtPercentile(99.9)), String.valueOf(histogram.getMaxValue()));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model send schedule shared by the threads running the same sampler of a thread group.
+ * <p>
+ * The rate ramps linearly from its start rate to its target over the ramp time and then stays at the target, whatever
+ * the broker response time. Every send claims the next slot of the schedule and waits for its intended time, so a slow
+ * broker does not lower the offered load, and latency measured from the intended time includes the queueing that a
+ * closed model would hide. Byte rates are paced with the average serialized size of the acknowledged records, and with
+ * the size of the first serialized record until the first acknowledgement arrives.
+ */
+final class RateSchedule {
+
+  enum Unit {
+    MESSAGES(1), MEGABYTES(1_000_000);
+
+    private final long unitsPerRate;
+
+    Unit(long unitsPerRate) {
+      this.unitsPerRate = unitsPerRate;
+    }
+  }
+
+  private static final Map<String, RateSchedule> SCHEDULES = new HashMap<>();
+
+  private final String name;
+
+  private final Unit unit;
+
+  private final double startRate;
+
+  private final double targetRate;
+
+  private final double rampSeconds;
+
+  private final long startedAt = System.nanoTime();
+
+  private final AtomicLong claimed = new AtomicLong();
+
+  private final LongAdder ackedBytes = new LongAdder();
+
+  private final LongAdder ackedRecords = new LongAdder();
+
+  private final AtomicLong seededRecordBytes = new AtomicLong();
+
+  private int users;
+
+  private RateSchedule(String name, Unit unit, double startRate, double targetRate, double rampSeconds) {
+    this.name = name;
+    this.unit = unit;
+    this.startRate = startRate * unit.unitsPerRate;
+    this.targetRate = targetRate * unit.unitsPerRate;
+    this.rampSeconds = rampSeconds;
+  }
+
+  /**
+   * @param name name shared by the threads that hold the rate together
+   * @param targetRate rate held once the ramp is over, in messages or megabytes per second
+   * @param startRate rate at the start of the ramp
+   * @param rampSeconds time taken to go from the start rate to the target rate, or 0 for a fixed rate
+   * @return the schedule of that name, created by its first thread
+   * @throws IllegalArgumentException when the rate is invalid or differs from the one the schedule was created with
+   */
+  static RateSchedule acquire(String name, Unit unit, double targetRate, double startRate, double rampSeconds) {
+    if (targetRate <= 0 || startRate < 0 || rampSeconds < 0) {
+      throw new IllegalArgumentException("Rate target must be greater than 0, ramp start and ramp time cannot be negative");
+    }
+    synchronized (SCHEDULES) {
+      RateSchedule schedule = SCHEDULES.computeIfAbsent(name, key -> new RateSchedule(key, unit, startRate, targetRate, rampSeconds));
+      if (!schedule.holds(unit, targetRate, startRate, rampSeconds)) {
+        throw new IllegalArgumentException("Rate schedule " + name + " is already running with a different rate");
+      }
+      schedule.users++;
+      return schedule;
+    }
+  }
+
+  void release() {
+    synchronized (SCHEDULES) {
+      if (0 == --users) {
+        SCHEDULES.remove(name, this);
+      }
+    }
+  }
+
+  /**
+   * Claims the next slot of the schedule and waits for it.
+   *
+   * @return the intended send time of the slot, as a {@link System#nanoTime()} value, which is in the past when the
+   *     schedule is running behind
+   */
+  long awaitNextSend() throws InterruptedException {
+    long intendedAt = intendedTime(claimed.getAndAdd(claimUnits()));
+    long waiting = intendedAt - System.nanoTime();
+    while (waiting > 0) {
+      LockSupport.parkNanos(this, waiting);
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      waiting = intendedAt - System.nanoTime();
+    }
+    return intendedAt;
+  }
+
+  /**
+   * Counts an acknowledged record towards the average size used to pace byte rates.
+   */
+  void recordAcked(int bytes) {
+    if (Unit.MEGABYTES == unit) {
+      ackedBytes.add(bytes);
+      ackedRecords.increment();
+    }
+  }
+
+  /**
+   * Tells whether a byte rate still has no record size to pace with.
+   */
+  boolean needsRecordSize() {
+    return Unit.MEGABYTES == unit && 0 == seededRecordBytes.get() && 0 == ackedRecords.sum();
+  }
+
+  /**
+   * Sets the record size used to pace byte rates until the first acknowledgement, unless one is already set.
+   */
+  void seedRecordSize(long bytes) {
+    if (Unit.MEGABYTES == unit) {
+      seededRecordBytes.compareAndSet(0, Math.max(bytes, 1));
+    }
+  }
+
+  long intendedTime(long units) {
+    return startedAt + (long) (secondsToReach(units) * TimeUnit.SECONDS.toNanos(1));
+  }
+
+  private boolean holds(Unit otherUnit, double otherTargetRate, double otherStartRate, double otherRampSeconds) {
+    return unit == otherUnit && targetRate == otherTargetRate * otherUnit.unitsPerRate && startRate == otherStartRate * otherUnit.unitsPerRate
+           && rampSeconds == otherRampSeconds;
+  }
+
+  private long claimUnits() {
+    long units = 1;
+    if (Unit.MEGABYTES == unit) {
+      long records = ackedRecords.sum();
+      units = 0 == records ? seededRecordBytes.get() : Math.max(ackedBytes.sum() / records, 1);
+    }
+    return units;
+  }
+
+  private double secondsToReach(long units) {
+    double rampUnits = (startRate + targetRate) / 2 * rampSeconds;
+    double seconds;
+    if (units >= rampUnits) {
+      seconds = rampSeconds + (units - rampUnits) / targetRate;
+    } else if (startRate == targetRate) {
+      seconds = units / startRate;
+    } else {
+      double acceleration = (targetRate - startRate) / rampSeconds;
+      seconds = (Math.sqrt(startRate * startRate + 2 * acceleration * units) - startRate) / acceleration;
+    }
+    return seconds;
+  }
+}
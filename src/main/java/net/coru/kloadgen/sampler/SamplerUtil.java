@@ -6,14 +6,16 @@
 
 package net.coru.kloadgen.sampler;
 
-import static java.util.Collections.emptyList;
-
 import static io.confluent.kafka.schemaregistry.client.SchemaRegistryClientConfig.BASIC_AUTH_CREDENTIALS_SOURCE;
 import static io.confluent.kafka.schemaregistry.client.SchemaRegistryClientConfig.BEARER_AUTH_CREDENTIALS_SOURCE;
 import static io.confluent.kafka.schemaregistry.client.SchemaRegistryClientConfig.BEARER_AUTH_TOKEN_CONFIG;
 import static io.confluent.kafka.schemaregistry.client.SchemaRegistryClientConfig.USER_INFO_CONFIG;
 import static io.confluent.kafka.serializers.AbstractKafkaSchemaSerDeConfig.SCHEMA_REGISTRY_URL_CONFIG;
+import static net.coru.kloadgen.loadgen.SchemaBundle.SCHEMA_REGISTRY_BUNDLE;
 import static net.coru.kloadgen.util.ProducerKeysHelper.ACKS_CONFIG_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_MAX_IN_FLIGHT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_MAX_IN_FLIGHT_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.ASYNC_SEND_ENABLED;
 import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_SIZE_CONFIG_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.BOOTSTRAP_SERVERS_CONFIG_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.BUFFER_MEMORY_CONFIG_DEFAULT;
@@ -32,7 +34,32 @@ import static net.coru.kloadgen.util.ProducerKeysHelper.KAFKA_TOPIC_CONFIG_DEFAU
 import static net.coru.kloadgen.util.ProducerKeysHelper.KERBEROS_ENABLED;
 import static net.coru.kloadgen.util.ProducerKeysHelper.KEY_NAME_STRATEGY;
 import static net.coru.kloadgen.util.ProducerKeysHelper.KEY_SERIALIZER_CLASS_CONFIG_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_HEADER;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_FILE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_INTERVAL_MS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LATENCY_REPORT_INTERVAL_MS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE_SAMPLE_RATE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.LEAN_MODE_SAMPLE_RATE_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.LINGER_MS_CONFIG_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_SEQUENCE_HEADER;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_SIZE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_SIZE_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_STORAGE;
+import static net.coru.kloadgen.util.ProducerKeysHelper.MESSAGE_POOL_STORAGE_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_THREADS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.PRODUCER_SHARING_THREADS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RANDOM_SEED;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_SECONDS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_SECONDS_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_START;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_RAMP_START_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET_DEFAULT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_UNIT;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_UNIT_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.RECEIVE_BUFFER_CONFIG_DEFAULT;
 import static net.coru.kloadgen.util.ProducerKeysHelper.SASL_KERBEROS_SERVICE_NAME;
 import static net.coru.kloadgen.util.ProducerKeysHelper.SASL_KERBEROS_SERVICE_NAME_DEFAULT;
@@ -77,8 +104,8 @@ import static org.apache.kafka.clients.producer.ProducerConfig.KEY_SERIALIZER_CL
 import static org.apache.kafka.common.config.SaslConfigs.SASL_JAAS_CONFIG;
 
 import java.io.File;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -89,12 +116,11 @@ import java.util.Set;
 
 import net.coru.kloadgen.exception.KLoadGenException;
 import net.coru.kloadgen.loadgen.BaseLoadGenerator;
+import net.coru.kloadgen.loadgen.SchemaBundle;
 import net.coru.kloadgen.loadgen.impl.AvroLoadGenerator;
 import net.coru.kloadgen.loadgen.impl.JsonLoadGenerator;
 import net.coru.kloadgen.loadgen.impl.ProtobufLoadGenerator;
 import net.coru.kloadgen.model.FieldValueMapping;
-import net.coru.kloadgen.model.HeaderMapping;
-import net.coru.kloadgen.randomtool.generator.StatelessGeneratorTool;
 import net.coru.kloadgen.util.SchemaRegistryKeyHelper;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.jmeter.config.Arguments;
@@ -104,14 +130,11 @@ import org.apache.jmeter.threads.JMeterVariables;
 import org.apache.kafka.clients.CommonClientConfigs;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
-import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.common.config.SslConfigs;
 import org.apache.kafka.common.security.auth.SecurityProtocol;
 
 public final class SamplerUtil {
 
-  private static final StatelessGeneratorTool statelessGeneratorTool = new StatelessGeneratorTool();
-
   private static final Set<String> JSON_TYPE_SET = Set.of("json-schema", "json");
 
   private SamplerUtil() {
@@ -151,6 +174,23 @@ public final class SamplerUtil {
     defaultParameters.addArgument(SslConfigs.SSL_PROVIDER_CONFIG, "");
     defaultParameters.addArgument(SslConfigs.SSL_PROTOCOL_CONFIG, SslConfigs.DEFAULT_SSL_PROTOCOL);
     defaultParameters.addArgument(ENABLE_AUTO_SCHEMA_REGISTRATION_CONFIG, "false");
+    defaultParameters.addArgument(ASYNC_SEND_ENABLED, FLAG_NO);
+    defaultParameters.addArgument(ASYNC_MAX_IN_FLIGHT, ASYNC_MAX_IN_FLIGHT_DEFAULT);
+    defaultParameters.addArgument(RATE_TARGET, RATE_TARGET_DEFAULT);
+    defaultParameters.addArgument(RATE_UNIT, RATE_UNIT_DEFAULT);
+    defaultParameters.addArgument(RATE_RAMP_START, RATE_RAMP_START_DEFAULT);
+    defaultParameters.addArgument(RATE_RAMP_SECONDS, RATE_RAMP_SECONDS_DEFAULT);
+    defaultParameters.addArgument(MESSAGE_POOL_SIZE, MESSAGE_POOL_SIZE_DEFAULT);
+    defaultParameters.addArgument(MESSAGE_POOL_STORAGE, MESSAGE_POOL_STORAGE_DEFAULT);
+    defaultParameters.addArgument(MESSAGE_POOL_SEQUENCE_HEADER, "");
+    defaultParameters.addArgument(LATENCY_HEADER, "");
+    defaultParameters.addArgument(LATENCY_REPORT_FILE, "");
+    defaultParameters.addArgument(LATENCY_REPORT_INTERVAL_MS, LATENCY_REPORT_INTERVAL_MS_DEFAULT);
+    defaultParameters.addArgument(LEAN_MODE, FLAG_NO);
+    defaultParameters.addArgument(LEAN_MODE_SAMPLE_RATE, LEAN_MODE_SAMPLE_RATE_DEFAULT);
+    defaultParameters.addArgument(PRODUCER_SHARING, PRODUCER_SHARING_DEFAULT);
+    defaultParameters.addArgument(PRODUCER_SHARING_THREADS, PRODUCER_SHARING_THREADS_DEFAULT);
+    defaultParameters.addArgument(RANDOM_SEED, "");
 
     return defaultParameters;
   }
@@ -239,6 +279,7 @@ public final class SamplerUtil {
     defaultParameters.addArgument(TIMEOUT_MILLIS, "5000");
     defaultParameters.addArgument(MAX_POLL_INTERVAL_MS_CONFIG, "3000");
     defaultParameters.addArgument(ConsumerConfig.GROUP_ID_CONFIG, "anonymous");
+    defaultParameters.addArgument(LATENCY_HEADER, "");
     return defaultParameters;
   }
 
@@ -399,12 +440,19 @@ public final class SamplerUtil {
     props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
               Objects.requireNonNullElse(jMeterVariables.get(VALUE_SERIALIZER_CLASS_PROPERTY), VALUE_SERIALIZER_CLASS_CONFIG_DEFAULT));
 
+    Map<String, String> originals = new HashMap<>();
     if (Objects.nonNull(jMeterVariables.get(SCHEMA_REGISTRY_URL))) {
-      Map<String, String> originals = new HashMap<>();
       setupSchemaRegistryAuthenticationProperties(jMeterVariables, originals);
 
       props.putAll(originals);
+    }
 
+    Path schemaBundle = getSchemaBundle();
+    if (Objects.nonNull(schemaBundle) && Objects.isNull(jMeterVariables.get(VALUE_SCHEMA))) {
+      generator.setUpGenerator(
+          SchemaBundle.read(schemaBundle).get(jMeterVariables.get(VALUE_SUBJECT_NAME)),
+          (List<FieldValueMapping>) jMeterVariables.getObject(VALUE_SCHEMA_PROPERTIES));
+    } else if (Objects.nonNull(jMeterVariables.get(SCHEMA_REGISTRY_URL))) {
       try {
         generator.setUpGenerator(
             originals,
@@ -457,8 +505,8 @@ public final class SamplerUtil {
     props.put(KEY_SERIALIZER_CLASS_CONFIG,
               Objects.requireNonNullElse(jMeterVariables.get(VALUE_SERIALIZER_CLASS_PROPERTY), KEY_SERIALIZER_CLASS_CONFIG_DEFAULT));
 
+    Map<String, String> originals = new HashMap<>();
     if (Objects.nonNull(jMeterVariables.get(SCHEMA_REGISTRY_URL))) {
-      Map<String, String> originals = new HashMap<>();
       originals.put(SCHEMA_REGISTRY_URL_CONFIG, jMeterVariables.get(SCHEMA_REGISTRY_URL));
 
       if (FLAG_YES.equals(jMeterVariables.get(SCHEMA_REGISTRY_AUTH_FLAG))) {
@@ -472,7 +520,14 @@ public final class SamplerUtil {
       }
 
       props.putAll(originals);
+    }
 
+    Path schemaBundle = getSchemaBundle();
+    if (Objects.nonNull(schemaBundle) && Objects.isNull(jMeterVariables.get(KEY_SCHEMA))) {
+      generator.setUpGenerator(
+          SchemaBundle.read(schemaBundle).get(jMeterVariables.get(KEY_SUBJECT_NAME)),
+          (List<FieldValueMapping>) jMeterVariables.getObject(KEY_SCHEMA_PROPERTIES));
+    } else if (Objects.nonNull(jMeterVariables.get(SCHEMA_REGISTRY_URL))) {
       generator.setUpGenerator(
           originals,
           jMeterVariables.get(KEY_SUBJECT_NAME),
@@ -486,15 +541,9 @@ public final class SamplerUtil {
     return generator;
   }
 
-  public static List<String> populateHeaders(List<HeaderMapping> kafkaHeaders, ProducerRecord<Object, Object> producerRecord) {
-    List<String> headersSB = new ArrayList<>();
-    for (HeaderMapping kafkaHeader : kafkaHeaders) {
-      String headerValue = statelessGeneratorTool.generateObject(kafkaHeader.getHeaderName(), kafkaHeader.getHeaderValue(),
-                                                                 10,
-                                                                 emptyList()).toString();
-      headersSB.add(kafkaHeader.getHeaderName().concat(":").concat(headerValue));
-      producerRecord.headers().add(kafkaHeader.getHeaderName(), headerValue.getBytes(StandardCharsets.UTF_8));
-    }
-    return headersSB;
+  private static Path getSchemaBundle() {
+    Properties properties = JMeterContextService.getContext().getProperties();
+    String schemaBundle = Objects.isNull(properties) ? null : properties.getProperty(SCHEMA_REGISTRY_BUNDLE);
+    return StringUtils.isBlank(schemaBundle) ? null : Paths.get(schemaBundle);
   }
 }
@@ -0,0 +1,176 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.InterruptException;
+
+/**
+ * Process wide registry of producers shared between sampler threads.
+ * <p>
+ * Samplers asking for the same group with the same producer properties get the same producer. Every
+ * {@link #acquire(Key, Supplier)} has to be matched by a {@link #release(Key)}, the producer is closed when the last
+ * sampler using it releases it.
+ * <p>
+ * Only the reference counts are updated under the pool lock. A producer is built by the first thread asking for its key
+ * while the threads asking for other keys go on, and it is closed after its entry has been removed from the pool.
+ */
+@Slf4j
+public final class SharedProducerPool {
+
+  public enum Sharing {
+    NONE,
+    INJECTOR,
+    THREADS,
+    TOPIC
+  }
+
+  private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final Map<Key, Entry> PRODUCERS = new ConcurrentHashMap<>();
+
+  private SharedProducerPool() {
+  }
+
+  /**
+   * Builds the key a sampler thread shares its producer under.
+   *
+   * @param sharing strategy to group the threads with
+   * @param props producer properties, producers are never shared between different configurations
+   * @param threadGroup name of the thread group of the sampler thread
+   * @param threadNum number of the sampler thread in its group
+   * @param threadsPerProducer threads sharing a producer with the {@link Sharing#THREADS} strategy
+   * @param topic topic the sampler sends to
+   * @return the key, or {@code null} when producers are not shared
+   */
+  public static Key keyFor(Sharing sharing, Properties props, String threadGroup, int threadNum, int threadsPerProducer, String topic) {
+    Key key;
+    switch (sharing) {
+      case INJECTOR:
+        key = new Key("injector", props);
+        break;
+      case THREADS:
+        key = new Key(threadGroup + "#" + threadNum / Math.max(threadsPerProducer, 1), props);
+        break;
+      case TOPIC:
+        key = new Key("topic:" + topic, props);
+        break;
+      default:
+        key = null;
+        break;
+    }
+    return key;
+  }
+
+  /**
+   * @return the producer of the key, built with the factory by the first thread asking for it
+   * @throws KafkaException when the producer could not be built, in which case the acquisition does not have to be
+   *     released
+   */
+  public static Producer<Object, Object> acquire(Key key, Supplier<Producer<Object, Object>> factory) {
+    Entry entry;
+    synchronized (PRODUCERS) {
+      entry = PRODUCERS.computeIfAbsent(key, newKey -> new Entry(newKey, factory));
+      entry.references++;
+    }
+    try {
+      return entry.producer();
+    } catch (KafkaException e) {
+      remove(key, entry);
+      throw e;
+    }
+  }
+
+  public static void release(Key key) {
+    Entry entry = PRODUCERS.get(key);
+    if (Objects.nonNull(entry) && remove(key, entry)) {
+      entry.producer().close(CLOSE_TIMEOUT);
+      log.info("Closed producer shared by {}", key.group);
+    }
+  }
+
+  /**
+   * Drops a reference to the entry and removes it from the pool when it was the last one.
+   *
+   * @return whether the entry was removed
+   */
+  private static boolean remove(Key key, Entry entry) {
+    synchronized (PRODUCERS) {
+      return --entry.references == 0 && PRODUCERS.remove(key, entry);
+    }
+  }
+
+  public static final class Key {
+
+    private final String group;
+
+    private final Map<Object, Object> config;
+
+    private Key(String group, Properties props) {
+      this.group = group;
+      this.config = new HashMap<>(props);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (!(other instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) other;
+      return group.equals(key.group) && config.equals(key.config);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(group, config);
+    }
+  }
+
+  private static final class Entry {
+
+    private final FutureTask<Producer<Object, Object>> task;
+
+    private int references;
+
+    private Entry(Key key, Supplier<Producer<Object, Object>> factory) {
+      this.task = new FutureTask<>(() -> {
+        Producer<Object, Object> producer = factory.get();
+        log.info("Created producer shared by {}", key.group);
+        return producer;
+      });
+    }
+
+    /**
+     * Builds the producer on the first call, the threads calling at the same time wait for it.
+     */
+    private Producer<Object, Object> producer() {
+      task.run();
+      try {
+        return task.get();
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof KafkaException ? (KafkaException) e.getCause() : new KafkaException(e.getCause());
+      } catch (InterruptedException e) {
+        throw new InterruptException(e);
+      }
+    }
+  }
+}
@@ -11,68 +11,68 @@ import static net.coru.kloadgen.util.PropsKeysHelper.VALUE_SCHEMA;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumReader;
-import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.DatumReader;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Deserializer;
 
+/**
+ * Deserializes Avro messages in the Schema Registry wire format with the schema of the configured subject.
+ * <p>
+ * Every consumer owns its deserializers, which are only called from the polling thread. The schema is parsed once on
+ * {@link #configure} together with its reader, and the decoder is reused. Every message is read with
+ * that schema whatever schema id it carries.
+ */
 @Slf4j
 public class AvroDeserializer implements Deserializer<Object> {
 
   private static final byte MAGIC_BYTE = 0x0;
 
-  private static final int ID_SIZE = 4;
+  private Schema schema;
 
-  private static final Map<String, Object> configs = new HashMap<>();
+  private DatumReader<Object> datumReader;
 
-  private boolean isKey;
+  private BinaryDecoder binaryDecoder;
 
   @Override
   public void configure(Map<String, ?> configs, boolean isKey) {
-    AvroDeserializer.configs.putAll(configs);
-    this.isKey = isKey;
+    String schemaString = (String) configs.get(isKey ? KEY_SCHEMA : VALUE_SCHEMA);
+    if (Objects.nonNull(schemaString) && !schemaString.isEmpty()) {
+      schema = new Schema.Parser().parse(schemaString);
+      datumReader = new GenericDatumReader<>(schema);
+    }
   }
 
   @Override
   public Object deserialize(String topic, byte[] data) {
-
-    Object result;
-    String schemaString;
-    Decoder decoder;
-
-    schemaString = (String) (isKey ? configs.get(KEY_SCHEMA) : configs.get(VALUE_SCHEMA));
-
-    if (!schemaString.isEmpty()) {
-      Schema.Parser parser = new Schema.Parser();
-      Schema avroSchema = parser.parse(schemaString);
-
-      ByteBuffer buffer = getByteBuffer(data);
-      DatumReader<GenericRecord> reader = new GenericDatumReader<>(avroSchema);
-
-      int length = buffer.limit() - 1 - 4;
-      int start = buffer.position() + buffer.arrayOffset();
-
-      try {
-        decoder = DecoderFactory.get().binaryDecoder(buffer.array(), start, length, null);
-        result = reader.read(null, decoder);
-      } catch (RuntimeException | IOException ex) {
-        throw new SerializationException("Error deserializing Avro message");
-      }
-
-      return result;
-
-    } else {
+    if (Objects.isNull(schema)) {
       throw new SerializationException("Error deserializing AVRO message - null schema");
     }
+    if (Objects.isNull(data)) {
+      return null;
+    }
+
+    ByteBuffer buffer = ByteBuffer.wrap(data);
+    if (buffer.get() != MAGIC_BYTE) {
+      throw new SerializationException("Unknown magic byte!");
+    }
+    int schemaId = buffer.getInt();
+
+    try {
+      binaryDecoder = DecoderFactory.get().binaryDecoder(data, buffer.position(), buffer.remaining(), binaryDecoder);
+      return datumReader.read(null, binaryDecoder);
+    } catch (RuntimeException | IOException ex) {
+      binaryDecoder = null;
+      throw new SerializationException("Error deserializing Avro message for id " + schemaId, ex);
+    }
   }
 
   @Override
@@ -80,18 +80,8 @@ public class AvroDeserializer implements Deserializer<Object> {
     return deserialize(topic, data);
   }
 
-  private ByteBuffer getByteBuffer(byte[] payload) {
-    ByteBuffer buffer = ByteBuffer.wrap(payload);
-    if (buffer.get() != MAGIC_BYTE) {
-      throw new SerializationException("Unknown magic byte!");
-    } else {
-      buffer.position(buffer.position() + ID_SIZE);
-      return buffer;
-    }
-  }
-
   @Override
   public void close() {
-    // No need to be implemented
+    binaryDecoder = null;
   }
 }
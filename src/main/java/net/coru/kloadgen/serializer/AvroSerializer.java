@@ -8,10 +8,12 @@ package net.coru.kloadgen.serializer;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import javax.xml.bind.DatatypeConverter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.BinaryEncoder;
@@ -28,6 +30,8 @@ public class AvroSerializer<T extends EnrichedRecord> implements Serializer<T> {
 
   private static final int ID_SIZE = 4;
 
+  private static final ThreadLocal<AvroOutput> output = ThreadLocal.withInitial(AvroOutput::new);
+
   @Override
   public byte[] serialize(String topic, T data) {
     try {
@@ -36,18 +40,10 @@ public class AvroSerializer<T extends EnrichedRecord> implements Serializer<T> {
       if (data != null) {
         log.debug("data='{}'", data);
 
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        byteArrayOutputStream.write(MAGIC_BYTE);
-        byteArrayOutputStream.write(ByteBuffer.allocate(ID_SIZE).putInt(data.getSchemaMetadata().getId()).array());
-        BinaryEncoder binaryEncoder = EncoderFactory.get().binaryEncoder(byteArrayOutputStream, null);
-        DatumWriter<GenericRecord> datumWriter = new GenericDatumWriter<>(((GenericRecord) data.getGenericRecord()).getSchema());
-        datumWriter.write((GenericRecord) data.getGenericRecord(), binaryEncoder);
-
-        binaryEncoder.flush();
-        byteArrayOutputStream.close();
-
-        result = byteArrayOutputStream.toByteArray();
-        log.debug("serialized data='{}'", DatatypeConverter.printHexBinary(result));
+        result = output.get().write(data.getSchemaMetadata().getId(), (GenericRecord) data.getGenericRecord());
+        if (log.isDebugEnabled()) {
+          log.debug("serialized data='{}'", DatatypeConverter.printHexBinary(result));
+        }
       }
       return result;
     } catch (IOException ex) {
@@ -61,4 +57,39 @@ public class AvroSerializer<T extends EnrichedRecord> implements Serializer<T> {
     return serialize(topic, data);
   }
 
+  private static final class AvroOutput {
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    private final Map<Schema, DatumWriter<GenericRecord>> datumWriters = new IdentityHashMap<>();
+
+    private BinaryEncoder binaryEncoder;
+
+    private byte[] write(int schemaId, GenericRecord genericRecord) throws IOException {
+      buffer.reset();
+      binaryEncoder = EncoderFactory.get().binaryEncoder(buffer, binaryEncoder);
+      buffer.write(MAGIC_BYTE);
+      for (int shift = (ID_SIZE - 1) * Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        buffer.write(schemaId >>> shift);
+      }
+      try {
+        datumWriter(genericRecord.getSchema()).write(genericRecord, binaryEncoder);
+        binaryEncoder.flush();
+      } catch (IOException | RuntimeException e) {
+        binaryEncoder = null;
+        throw e;
+      }
+      return buffer.toByteArray();
+    }
+
+    private DatumWriter<GenericRecord> datumWriter(Schema schema) {
+      DatumWriter<GenericRecord> datumWriter = datumWriters.get(schema);
+      if (null == datumWriter) {
+        datumWriter = new GenericDatumWriter<>(schema);
+        datumWriters.put(schema, datumWriter);
+      }
+      return datumWriter;
+    }
+  }
+
 }
@@ -8,25 +8,35 @@ package net.coru.kloadgen.serializer;
 
 import java.io.IOException;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.json.JsonWriteFeature;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.CharSet;
 import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.Serializer;
 
+/**
+ * Writes JSON records as ASCII bytes, escaping any other character.
+ * <p>
+ * Each thread writes the record tree through its own generator into a reused buffer, so only the returned array is
+ * allocated per record.
+ */
 @Slf4j
 public class GenericJsonRecordSerializer<T extends ObjectNode> implements Serializer<T> {
 
+  private static final ObjectMapper mapper = new ObjectMapper(JsonFactory.builder().enable(JsonWriteFeature.ESCAPE_NON_ASCII).build());
+
+  private static final ThreadLocal<JsonOutput> output = ThreadLocal.withInitial(JsonOutput::new);
+
   @Override
   public byte[] serialize(String topic, T record) {
 
     byte[] data = new byte[0];
     try {
-      ObjectMapper mapper = new ObjectMapper();
-      mapper.getFactory().configure(JsonWriteFeature.ESCAPE_NON_ASCII.mappedFeature(), true);
-      data = mapper.writeValueAsString(record).getBytes(CharSet.ASCII_ALPHA.toString());
+      data = output.get().write(record);
     } catch (IOException e) {
       log.error("Serialization error:" + e.getMessage());
     }
@@ -35,6 +45,29 @@ public class GenericJsonRecordSerializer<T extends ObjectNode> implements Serial
 
   @Override
   public byte[] serialize(String topic, Headers headers, T data) {
-    return new byte[0];
+    return serialize(topic, data);
+  }
+
+  private static final class JsonOutput {
+
+    private final ByteArrayBuilder buffer = new ByteArrayBuilder();
+
+    private JsonGenerator generator;
+
+    private byte[] write(ObjectNode record) throws IOException {
+      if (null == generator) {
+        generator = mapper.getFactory().createGenerator(buffer);
+        generator.setRootValueSeparator(null);
+      }
+      buffer.reset();
+      try {
+        mapper.writeTree(generator, record);
+        generator.flush();
+        return buffer.toByteArray();
+      } catch (IOException | RuntimeException e) {
+        generator = null;
+        throw e;
+      }
+    }
   }
 }
@@ -6,9 +6,14 @@
 
 package net.coru.kloadgen.serializer;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.DynamicMessage;
 import javax.xml.bind.DatatypeConverter;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +24,14 @@ import org.apache.kafka.common.serialization.Serializer;
 @Slf4j
 public class ProtobufSerializer<T extends EnrichedRecord> implements Serializer<T> {
 
+  private static final byte MAGIC_BYTE = 0x0;
+
+  private static final int ID_SIZE = 4;
+
+  private static final int[] FIRST_MESSAGE_INDEXES = {0};
+
+  private final Map<Descriptor, int[]> messageIndexes = new ConcurrentHashMap<>();
+
   @Override
   public byte[] serialize(String topic, T data) {
     try {
@@ -27,12 +40,20 @@ public class ProtobufSerializer<T extends EnrichedRecord> implements Serializer<
       if (data != null) {
         log.debug("data='{}'", data);
 
-        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        DynamicMessage message = (DynamicMessage) data.getGenericRecord();
+        int[] indexes = messageIndexes.computeIfAbsent(message.getDescriptorForType(), ProtobufSerializer::calculateMessageIndexes);
+        int headerSize = 1 + ID_SIZE + indexesSize(indexes);
 
-        ((DynamicMessage) data.getGenericRecord()).writeTo(byteArrayOutputStream);
+        result = new byte[headerSize + message.getSerializedSize()];
+        writeSchemaId(result, data.getSchemaMetadata().getId());
+        CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(result, 1 + ID_SIZE, result.length - 1 - ID_SIZE);
+        writeIndexes(codedOutputStream, indexes);
+        message.writeTo(codedOutputStream);
+        codedOutputStream.checkNoSpaceLeft();
 
-        result = byteArrayOutputStream.toByteArray();
-        log.debug("serialized data='{}'", DatatypeConverter.printHexBinary(result));
+        if (log.isDebugEnabled()) {
+          log.debug("serialized data='{}'", DatatypeConverter.printHexBinary(result));
+        }
       }
       return result;
     } catch (IOException ex) {
@@ -45,5 +66,46 @@ public class ProtobufSerializer<T extends EnrichedRecord> implements Serializer<
     return serialize(topic, data);
   }
 
-}
+  private static int[] calculateMessageIndexes(Descriptor descriptor) {
+    Deque<Integer> path = new ArrayDeque<>();
+    Descriptor current = descriptor;
+    while (current != null) {
+      path.addFirst(current.getIndex());
+      current = current.getContainingType();
+    }
+    int[] indexes = path.stream().mapToInt(Integer::intValue).toArray();
+    return indexes.length == 1 && indexes[0] == 0 ? FIRST_MESSAGE_INDEXES : indexes;
+  }
 
+  private static int indexesSize(int[] indexes) {
+    int size;
+    if (indexes == FIRST_MESSAGE_INDEXES) {
+      size = 1;
+    } else {
+      size = CodedOutputStream.computeSInt32SizeNoTag(indexes.length);
+      for (int index : indexes) {
+        size += CodedOutputStream.computeSInt32SizeNoTag(index);
+      }
+    }
+    return size;
+  }
+
+  private static void writeSchemaId(byte[] result, int schemaId) {
+    result[0] = MAGIC_BYTE;
+    result[1] = (byte) (schemaId >>> 24);
+    result[2] = (byte) (schemaId >>> 16);
+    result[3] = (byte) (schemaId >>> 8);
+    result[4] = (byte) schemaId;
+  }
+
+  private static void writeIndexes(CodedOutputStream codedOutputStream, int[] indexes) throws IOException {
+    if (indexes == FIRST_MESSAGE_INDEXES) {
+      codedOutputStream.writeSInt32NoTag(0);
+    } else {
+      codedOutputStream.writeSInt32NoTag(indexes.length);
+      for (int index : indexes) {
+        codedOutputStream.writeSInt32NoTag(index);
+      }
+    }
+  }
+}
@@ -80,4 +80,66 @@ public class ProducerKeysHelper {
   public static final String RECORD_NAME_STRATEGY = "io.confluent.kafka.serializers.subject.RecordNameStrategy";
 
   public static final String TOPIC_NAME_STRATEGY = "io.confluent.kafka.serializers.subject.TopicRecordNameStrategy";
+
+  public static final String ASYNC_SEND_ENABLED = "async.send.enabled";
+
+  public static final String ASYNC_MAX_IN_FLIGHT = "async.max.in.flight";
+
+  public static final String ASYNC_MAX_IN_FLIGHT_DEFAULT = "100";
+
+  public static final String MESSAGE_POOL_SIZE = "message.pool.size";
+
+  public static final String MESSAGE_POOL_SIZE_DEFAULT = "0";
+
+  public static final String MESSAGE_POOL_STORAGE = "message.pool.storage";
+
+  public static final String MESSAGE_POOL_STORAGE_DEFAULT = "MEMORY";
+
+  public static final String MESSAGE_POOL_SEQUENCE_HEADER = "message.pool.sequence.header";
+
+  public static final String LATENCY_HEADER = "latency.header";
+
+  public static final String LATENCY_REPORT_FILE = "latency.report.file";
+
+  public static final String LATENCY_REPORT_INTERVAL_MS = "latency.report.interval.ms";
+
+  public static final String LATENCY_REPORT_INTERVAL_MS_DEFAULT = "10000";
+
+  public static final String RATE_TARGET = "rate.target";
+
+  public static final String RATE_TARGET_DEFAULT = "0";
+
+  public static final String RATE_RAMP_START = "rate.ramp.start";
+
+  public static final String RATE_RAMP_START_DEFAULT = "0";
+
+  public static final String RATE_RAMP_SECONDS = "rate.ramp.seconds";
+
+  public static final String RATE_RAMP_SECONDS_DEFAULT = "0";
+
+  public static final String RATE_UNIT = "rate.unit";
+
+  public static final String RATE_UNIT_DEFAULT = "MESSAGES";
+
+  public static final String BATCH_RECORDS = "batch.records";
+
+  public static final String BATCH_RECORDS_DEFAULT = "100";
+
+  public static final String BATCH_SUB_RESULTS = "batch.sub.results";
+
+  public static final String LEAN_MODE = "lean.mode";
+
+  public static final String LEAN_MODE_SAMPLE_RATE = "lean.mode.sample.rate";
+
+  public static final String LEAN_MODE_SAMPLE_RATE_DEFAULT = "0";
+
+  public static final String PRODUCER_SHARING = "producer.sharing";
+
+  public static final String PRODUCER_SHARING_DEFAULT = "NONE";
+
+  public static final String PRODUCER_SHARING_THREADS = "producer.sharing.threads";
+
+  public static final String PRODUCER_SHARING_THREADS_DEFAULT = "10";
+
+  public static final String RANDOM_SEED = "random.seed";
 }
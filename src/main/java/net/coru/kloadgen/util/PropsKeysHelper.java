@@ -56,6 +56,16 @@ public class PropsKeysHelper {
 
   public static final String TIMEOUT_MILLIS = "timeout.millis";
 
+  public static final String MAX_POLL_RECORDS_DEFAULT = "500";
+
+  public static final String COMMIT_MODE = "commit.mode";
+
+  public static final String COMMIT_MODE_DEFAULT = "ASYNC";
+
+  public static final String COMMIT_INTERVAL_MS = "commit.interval.ms";
+
+  public static final String COMMIT_INTERVAL_MS_DEFAULT = "1000";
+
   private PropsKeysHelper() {
   }
 }
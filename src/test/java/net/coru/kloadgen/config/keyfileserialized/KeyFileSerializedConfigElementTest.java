@@ -52,4 +52,26 @@ class KeyFileSerializedConfigElementTest {
 
   }
 
+  @Test
+  public void iterationStartPublishesOncePerThread() {
+
+    KeyFileSerializedConfigElement firstElement = new KeyFileSerializedConfigElement("firstSubject", Collections.emptyList(), "{}", "AVRO",
+                                                                                     AvroSerializer.class.getSimpleName(),
+                                                                                     TopicNameStrategy.class.getSimpleName());
+    KeyFileSerializedConfigElement secondElement = new KeyFileSerializedConfigElement("secondSubject", Collections.emptyList(), "{}", "AVRO",
+                                                                                      AvroSerializer.class.getSimpleName(),
+                                                                                      TopicNameStrategy.class.getSimpleName());
+    JMeterVariables variables = JMeterContextService.getContext().getVariables();
+
+    firstElement.iterationStart(null);
+    variables.putObject(KEY_SUBJECT_NAME, "changedSubject");
+    firstElement.iterationStart(null);
+    assertThat(variables.getObject(KEY_SUBJECT_NAME)).isEqualTo("changedSubject");
+
+    secondElement.iterationStart(null);
+    assertThat(variables.getObject(KEY_SUBJECT_NAME)).isEqualTo("secondSubject");
+    firstElement.iterationStart(null);
+    assertThat(variables.getObject(KEY_SUBJECT_NAME)).isEqualTo("firstSubject");
+  }
+
 }
\ No newline at end of file
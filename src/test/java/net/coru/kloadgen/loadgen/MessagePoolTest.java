@@ -0,0 +1,57 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import net.coru.kloadgen.exception.KLoadGenException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class MessagePoolTest {
+
+  @ParameterizedTest
+  @EnumSource(MessagePool.Storage.class)
+  void testReplayInCycle(MessagePool.Storage storage) throws IOException {
+    try (MessagePool pool = MessagePool.create(storage, 3)) {
+      pool.add(bytes("key-0"), bytes("value-0"));
+      pool.add(null, bytes("value-1"));
+      pool.add(bytes("key-2"), new byte[0]);
+
+      assertThat(pool.isFull()).isTrue();
+      assertThat(pool.size()).isEqualTo(3);
+      assertThat(pool.nextIndex()).isZero();
+      assertThat(pool.nextIndex()).isEqualTo(1);
+      assertThat(pool.nextIndex()).isEqualTo(2);
+      assertThat(pool.nextIndex()).isZero();
+
+      assertThat(pool.key(0)).isEqualTo(bytes("key-0"));
+      assertThat(pool.value(0)).isEqualTo(bytes("value-0"));
+      assertThat(pool.key(1)).isNull();
+      assertThat(pool.value(1)).isEqualTo(bytes("value-1"));
+      assertThat(pool.key(2)).isEqualTo(bytes("key-2"));
+      assertThat(pool.value(2)).isEmpty();
+    }
+  }
+
+  @Test
+  void testAddToFullPool() throws IOException {
+    try (MessagePool pool = MessagePool.create(MessagePool.Storage.MEMORY, 1)) {
+      pool.add(bytes("key"), bytes("value"));
+      assertThatThrownBy(() -> pool.add(bytes("key"), bytes("value"))).isInstanceOf(KLoadGenException.class);
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
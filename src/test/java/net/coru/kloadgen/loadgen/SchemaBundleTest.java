@@ -0,0 +1,58 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.avro.AvroSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.json.JsonSchema;
+import net.coru.kloadgen.exception.KLoadGenException;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SchemaBundleTest {
+
+  private static final String AVRO_SCHEMA = "{\"type\":\"record\",\"name\":\"test\",\"fields\":[{\"name\":\"Name\",\"type\":\"string\"}]}";
+
+  private static final String JSON_SCHEMA = "{\"type\":\"object\",\"properties\":{\"name\":{\"type\":\"string\"}}}";
+
+  @Test
+  void testExportedSubjectsAreRead(@TempDir Path bundleDir) {
+    Path bundleFile = bundleDir.resolve("bundle.json");
+    Pair<SchemaMetadata, ParsedSchema> avroSchema = Pair.of(new SchemaMetadata(71, 3, "AVRO", Collections.emptyList(), AVRO_SCHEMA), new AvroSchema(AVRO_SCHEMA));
+    Pair<SchemaMetadata, ParsedSchema> jsonSchema = Pair.of(new SchemaMetadata(72, 1, "JSON", Collections.emptyList(), JSON_SCHEMA), new JsonSchema(JSON_SCHEMA));
+
+    SchemaBundle.export(bundleFile, "avroSubject", avroSchema);
+    SchemaBundle.export(bundleFile, "jsonSubject", jsonSchema);
+    SchemaBundle bundle = SchemaBundle.read(bundleFile);
+
+    assertThat(bundle.get("avroSubject").getLeft().getId()).isEqualTo(71);
+    assertThat(bundle.get("avroSubject").getLeft().getVersion()).isEqualTo(3);
+    assertThat(bundle.get("avroSubject").getRight()).isEqualTo(avroSchema.getRight());
+    assertThat(bundle.get("jsonSubject").getLeft().getId()).isEqualTo(72);
+    assertThat(bundle.get("jsonSubject").getRight().schemaType()).isEqualTo("JSON");
+    assertThat(SchemaBundle.read(bundleFile)).isSameAs(bundle);
+  }
+
+  @Test
+  void testMissingSubjectFails(@TempDir Path bundleDir) {
+    Path bundleFile = bundleDir.resolve("bundle.json");
+    SchemaBundle.export(bundleFile, "avroSubject",
+                        Pair.of(new SchemaMetadata(71, 1, "AVRO", Collections.emptyList(), AVRO_SCHEMA), new AvroSchema(AVRO_SCHEMA)));
+
+    SchemaBundle bundle = SchemaBundle.read(bundleFile);
+
+    assertThatThrownBy(() -> bundle.get("otherSubject")).isInstanceOf(KLoadGenException.class);
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.loadgen;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static net.coru.kloadgen.loadgen.SchemaRegistryCache.SCHEMA_REGISTRY_CACHE_DIR;
+import static net.coru.kloadgen.util.SchemaRegistryKeyHelper.SCHEMA_REGISTRY_URL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockRuntimeInfo;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import io.confluent.kafka.schemaregistry.ParsedSchema;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.jmeter.threads.JMeterVariables;
+import org.apache.jmeter.util.JMeterUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@WireMockTest
+class SchemaRegistryCacheTest {
+
+  private static final String LATEST_AVRO_SUBJECT = "/subjects/avroSubject/versions/latest";
+
+  @BeforeEach
+  public void setUp() {
+    File file = new File("src/test/resources");
+    JMeterUtils.loadJMeterProperties(file.getAbsolutePath() + "/kloadgen.properties");
+    JMeterContextService.getContext().setVariables(new JMeterVariables());
+    JMeterUtils.setLocale(Locale.ENGLISH);
+    SchemaRegistryCache.clear();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    JMeterUtils.getJMeterProperties().remove(SCHEMA_REGISTRY_CACHE_DIR);
+    SchemaRegistryCache.clear();
+  }
+
+  @Test
+  void testSubjectIsRetrievedOnce(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    Map<String, String> originals = originals(wmRuntimeInfo);
+
+    Pair<SchemaMetadata, ParsedSchema> first = SchemaRegistryCache.getLatest(originals, "avroSubject");
+    Pair<SchemaMetadata, ParsedSchema> second = SchemaRegistryCache.getLatest(originals, "avroSubject");
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.getLeft().getId()).isEqualTo(71);
+    wmRuntimeInfo.getWireMock().verifyThat(1, getRequestedFor(urlEqualTo(LATEST_AVRO_SUBJECT)));
+  }
+
+  @Test
+  void testCacheDirectoryIsOnlyReadWhenTheRegistryFails(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path cacheDir) throws Exception {
+    JMeterUtils.setProperty(SCHEMA_REGISTRY_CACHE_DIR, cacheDir.toString());
+    Map<String, String> originals = originals(wmRuntimeInfo);
+
+    Pair<SchemaMetadata, ParsedSchema> fetched = SchemaRegistryCache.getLatest(originals, "avroSubject");
+    SchemaRegistryCache.clear();
+    SchemaRegistryCache.getLatest(originals, "avroSubject");
+
+    assertThat(cacheDir.resolve(wmRuntimeInfo.getHttpBaseUrl().replaceAll("[^\\w.-]", "_")).resolve("avroSubject.json")).exists();
+    wmRuntimeInfo.getWireMock().verifyThat(2, getRequestedFor(urlEqualTo(LATEST_AVRO_SUBJECT)));
+
+    wmRuntimeInfo.getWireMock().register(get(urlEqualTo(LATEST_AVRO_SUBJECT)).atPriority(1).willReturn(serverError()));
+    SchemaRegistryCache.clear();
+    Pair<SchemaMetadata, ParsedSchema> persisted = SchemaRegistryCache.getLatest(originals, "avroSubject");
+
+    assertThat(persisted.getLeft().getId()).isEqualTo(fetched.getLeft().getId());
+    assertThat(persisted.getRight()).isEqualTo(fetched.getRight());
+  }
+
+  @Test
+  void testSchemasAreNotSharedBetweenCredentials(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    Map<String, String> originals = originals(wmRuntimeInfo);
+    Map<String, String> otherCredentials = originals(wmRuntimeInfo);
+    otherCredentials.put("basic.auth.user.info", "user:password");
+
+    SchemaRegistryCache.getLatest(originals, "avroSubject");
+    SchemaRegistryCache.getLatest(otherCredentials, "avroSubject");
+
+    wmRuntimeInfo.getWireMock().verifyThat(2, getRequestedFor(urlEqualTo(LATEST_AVRO_SUBJECT)));
+  }
+
+  @Test
+  void testSubjectIsRetrievedAgainOnNextRun(WireMockRuntimeInfo wmRuntimeInfo) throws Exception {
+    Map<String, String> originals = originals(wmRuntimeInfo);
+
+    SchemaRegistryCache.getLatest(originals, "avroSubject");
+    JMeterContextService.startTest();
+    try {
+      SchemaRegistryCache.getLatest(originals, "avroSubject");
+      SchemaRegistryCache.getLatest(originals, "avroSubject");
+    } finally {
+      JMeterContextService.endTest();
+    }
+
+    wmRuntimeInfo.getWireMock().verifyThat(2, getRequestedFor(urlEqualTo(LATEST_AVRO_SUBJECT)));
+  }
+
+  @Test
+  void testCacheDirectoryIsSplitByRegistry(WireMockRuntimeInfo wmRuntimeInfo, @TempDir Path cacheDir) throws Exception {
+    JMeterUtils.setProperty(SCHEMA_REGISTRY_CACHE_DIR, cacheDir.toString());
+    Map<String, String> otherRegistry = new HashMap<>();
+    otherRegistry.put(SCHEMA_REGISTRY_URL, "http://localhost:1");
+
+    SchemaRegistryCache.getLatest(originals(wmRuntimeInfo), "avroSubject");
+    SchemaRegistryCache.clear();
+
+    assertThatThrownBy(() -> SchemaRegistryCache.getLatest(otherRegistry, "avroSubject")).isInstanceOf(Exception.class);
+  }
+
+  private static Map<String, String> originals(WireMockRuntimeInfo wmRuntimeInfo) {
+    Map<String, String> originals = new HashMap<>();
+    originals.put(SCHEMA_REGISTRY_URL, wmRuntimeInfo.getHttpBaseUrl());
+    return originals;
+  }
+}
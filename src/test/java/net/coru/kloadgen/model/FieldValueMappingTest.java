@@ -9,7 +9,9 @@ package net.coru.kloadgen.model;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.Map;
 
+import net.coru.kloadgen.randomtool.util.FieldType;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -46,6 +48,18 @@ class FieldValueMappingTest {
     assertThat(fieldValueMapping).hasFieldOrPropertyWithValue("fieldType", "String");
   }
 
+  @Test
+  void getResolvedFieldTypeFollowsTheFieldType() {
+    FieldValueMapping mapping = new FieldValueMapping("name", "String");
+    assertThat(mapping.getResolvedFieldType()).isEqualTo(FieldType.STRING);
+
+    mapping.setFieldType("string-array");
+    assertThat(mapping.getResolvedFieldType()).isNull();
+
+    mapping.setFieldType("Long_Timestamp");
+    assertThat(mapping.getResolvedFieldType()).isEqualTo(FieldType.LONG_TIMESTAMP);
+  }
+
   @Test
   void getFieldValuesList() {
     assertThat(fieldValueMapping.getFieldValuesList())
@@ -64,4 +78,31 @@ class FieldValueMappingTest {
         .containsExactlyElementsOf(List.of(
             "{\"client_code\":\"ABC\",\"market_codes\":[\"popfa\",\"popfa\"],\"permissions\":[{\"app_code\":\"TEAA\",\"resource_codes\":[{\"code\":\"jj\",\"action\":\"kk\"}]}]}"));
   }
-}
\ No newline at end of file
+
+  @Test
+  void getFieldValuesListIsParsedOnce() {
+    FieldValueMapping mapping = new FieldValueMapping("name", "string", 0, "alpha, beta");
+    List<String> values = mapping.getFieldValuesList();
+    assertThat(mapping.getFieldValuesList()).isSameAs(values).containsExactly("alpha", "beta");
+
+    mapping.setFieldValuesList("gamma");
+    assertThat(mapping.getFieldValuesList()).isNotSameAs(values).containsExactly("gamma");
+  }
+
+  @Test
+  void getFieldValuesListResolvesContextVariables() {
+    FieldValueList values = (FieldValueList) new FieldValueMapping("name", "string", 0, "alpha, ${beta}, ${}").getFieldValuesList();
+    Map<String, String> variables = Map.of("beta", "resolved", "", "empty");
+
+    assertThat(values.hasContextVariables()).isTrue();
+    assertThat(values.resolve(variables::get)).containsExactly("alpha", "resolved", "empty");
+    assertThat(values).containsExactly("alpha", "${beta}", "${}");
+  }
+
+  @Test
+  void getFieldValuesListWithoutContextVariables() {
+    FieldValueList values = (FieldValueList) new FieldValueMapping("name", "string", 0, "alpha, beta").getFieldValuesList();
+    assertThat(values.hasContextVariables()).isFalse();
+    assertThat(values.resolve(name -> "unused")).isSameAs(values);
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class FieldPathTest {
+
+  private static Stream<Arguments> parametersForPathAnalysis() {
+    return Stream.of(
+        Arguments.of("name", "", "name", "name", ""),
+        Arguments.of("values[4]", "", "values[4]", "values", "[4]"),
+        Arguments.of("values[][:]", "", "values[][:]", "values", "[][:]"),
+        Arguments.of("subEntity.anotherLevel.name", "subEntity", "anotherLevel.name", "anotherLevel", ".name"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("parametersForPathAnalysis")
+  void testPathAnalysis(String fullName, String parentName, String cleanPath, String methodName, String typeFilter) {
+    FieldPath fieldPath = new FieldPath(fullName, parentName);
+    assertThat(fieldPath.getCleanPath()).isEqualTo(cleanPath);
+    assertThat(fieldPath.getMethodName()).isEqualTo(methodName);
+    assertThat(fieldPath.getTypeFilter()).isEqualTo(typeFilter);
+  }
+
+  @Test
+  void testMapMethodName() {
+    assertThat(new FieldPath("values[2:]", "").getMapMethodName()).isEqualTo("values");
+  }
+
+  @Test
+  void testBelongsToParent() {
+    assertThat(new FieldPath("subEntity.anotherLevel.name", "subEntity").belongsToParent()).isTrue();
+    assertThat(new FieldPath("other.name", "subEntity").belongsToParent()).isFalse();
+  }
+
+  @Test
+  void testTypeFilterMatchesIsStable() {
+    Pattern pattern = Pattern.compile("\\[?..*]\\[.*");
+    FieldPath fieldPath = new FieldPath("values[][:]", "");
+    assertThat(fieldPath.typeFilterMatches(pattern)).isTrue();
+    assertThat(fieldPath.typeFilterMatches(pattern)).isTrue();
+    assertThat(new FieldPath("values[]", "").typeFilterMatches(pattern)).isFalse();
+  }
+}
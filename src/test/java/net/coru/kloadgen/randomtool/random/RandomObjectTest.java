@@ -25,6 +25,7 @@ import java.util.UUID;
 import java.util.stream.Stream;
 
 import net.coru.kloadgen.model.ConstraintTypeEnum;
+import net.coru.kloadgen.randomtool.util.FieldType;
 import org.apache.groovy.util.Maps;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -62,7 +63,9 @@ class RandomObjectTest {
             "uuid" , 1 , singletonList("0177f035-e51c-4a46-8b82-5b157371c2a5") ,
             UUID.fromString("0177f035-e51c-4a46-8b82-5b157371c2a5")
         ) ,
-        Arguments.of("boolean" , 1 , singletonList("true") , Boolean.TRUE)
+        Arguments.of("boolean" , 1 , singletonList("true") , Boolean.TRUE) ,
+        Arguments.of("INT" , 1 , singletonList("1") , 1) ,
+        Arguments.of("unknown" , 1 , emptyList() , "unknown")
     );
   }
 
@@ -98,6 +101,7 @@ class RandomObjectTest {
   @MethodSource("parametersForGenerateSingleRandomValue")
   void generateSingleRandomValue(String fieldType , Integer valueLength , List<String> fieldValuesList , Object expected) {
     assertThat(new RandomObject().generateRandom(fieldType , valueLength , fieldValuesList , emptyMap())).isEqualTo(expected);
+    assertThat(new RandomObject().generateRandom(FieldType.ofIgnoreCase(fieldType), fieldType, valueLength, fieldValuesList, emptyMap())).isEqualTo(expected);
   }
 
   @ParameterizedTest
@@ -107,6 +111,24 @@ class RandomObjectTest {
     assertThat(new RandomObject().generateRandom(fieldType, valueLength, fieldValuesList, constrains)).isEqualTo(expected);
   }
 
+  private static Stream<Arguments> parametersForGenerateConstrainedRandomValue() {
+    return Stream.of(
+        Arguments.of("int", Map.of(ConstraintTypeEnum.MINIMUM_VALUE, "10", ConstraintTypeEnum.MAXIMUM_VALUE, "20"), 10L, 20L, 1L),
+        Arguments.of("long", Map.of(ConstraintTypeEnum.MINIMUM_VALUE, "1", ConstraintTypeEnum.MAXIMUM_VALUE, "100", ConstraintTypeEnum.MULTIPLE_OF, "5"), 5L, 100L, 5L),
+        Arguments.of("short", Map.of(ConstraintTypeEnum.MINIMUM_VALUE, "0", ConstraintTypeEnum.MAXIMUM_VALUE, "3"), 0L, 3L, 1L));
+  }
+
+  @ParameterizedTest
+  @MethodSource("parametersForGenerateConstrainedRandomValue")
+  void generateConstrainedRandomValue(String fieldType, Map<ConstraintTypeEnum, String> constrains, long minimum, long maximum, long multipleOf) {
+    RandomObject randomObject = new RandomObject();
+    for (int i = 0; i < 100; i++) {
+      long value = ((Number) randomObject.generateRandom(fieldType, 0, emptyList(), constrains)).longValue();
+      assertThat(value).isBetween(minimum, maximum);
+      assertThat(value % multipleOf).isZero();
+    }
+  }
+
   private static Stream<Arguments> parametersForGenerateSequenceValueForField() {
     return Stream.of(
             Arguments.of("name", "int", emptyList(), new HashMap<>(), 1),
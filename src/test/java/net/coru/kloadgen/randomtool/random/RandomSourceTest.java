@@ -0,0 +1,67 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.randomtool.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class RandomSourceTest {
+
+  @Test
+  void testSeedMakesStreamRepeatable() {
+    RandomSource.seedCurrentThread(42L);
+    List<Object> first = draw();
+    RandomSource.seedCurrentThread(42L);
+    assertThat(draw()).isEqualTo(first);
+    RandomSource.seedCurrentThread(43L);
+    assertThat(draw()).isNotEqualTo(first);
+  }
+
+  @Test
+  void testSeedOnlyAppliesToCallingThread() throws InterruptedException {
+    RandomSource.seedCurrentThread(42L);
+    List<Object> expected = draw();
+    RandomSource.seedCurrentThread(42L);
+
+    Thread other = new Thread(() -> RandomSource.seedCurrentThread(43L));
+    other.start();
+    other.join();
+
+    assertThat(draw()).isEqualTo(expected);
+  }
+
+  @Test
+  void testRanges() {
+    for (int i = 0; i < 100; i++) {
+      assertThat(RandomSource.nextInt(1, 5)).isBetween(1, 4);
+      assertThat(RandomSource.nextLong(10L, 20L)).isBetween(10L, 19L);
+      assertThat(RandomSource.nextDouble(0.5, 1.5)).isBetween(0.5, 1.5);
+      assertThat(RandomSource.randomAlphabetic(8)).hasSize(8).matches("[a-zA-Z]+");
+    }
+    assertThat(RandomSource.nextInt(3, 3)).isEqualTo(3);
+    assertThat(RandomSource.randomUUID().version()).isEqualTo(4);
+    assertThatThrownBy(() -> RandomSource.nextInt(5, 1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RandomSource.nextLong(-1L, 1L)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static List<Object> draw() {
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      values.add(RandomSource.nextInt(0, 1000));
+      values.add(RandomSource.randomAlphabetic(5));
+    }
+    UUID uuid = RandomSource.randomUUID();
+    values.add(uuid);
+    return values;
+  }
+}
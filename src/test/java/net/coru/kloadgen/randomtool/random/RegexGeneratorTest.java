@@ -0,0 +1,48 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.randomtool.random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class RegexGeneratorTest {
+
+  private static Stream<Arguments> parametersForGenerate() {
+    return Stream.of(
+        Arguments.of("^[a-zA-Z]{2}$", true),
+        Arguments.of("^[a-zA-Z]{2,3}$", true),
+        Arguments.of("[A-Z]{3}-\\d{4}", true),
+        Arguments.of("^[a-f0-9_]{8}$", true),
+        Arguments.of("^(.*)$", false),
+        Arguments.of("^[^a-z]{2}$", false),
+        Arguments.of("[a-z]+@[a-z]{2,5}\\.com", false),
+        Arguments.of("^[A-Z]{2,}$", false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("parametersForGenerate")
+  void testGenerate(String pattern, boolean fastPath) {
+    RegexGenerator generator = RegexGenerator.compile(pattern);
+    assertThat(generator.getClass().getSimpleName()).isEqualTo(fastPath ? "SegmentGenerator" : "RgxGenGenerator");
+    Pattern compiled = Pattern.compile(pattern);
+    for (int i = 0; i < 100; i++) {
+      assertThat(generator.generate()).matches(compiled);
+    }
+  }
+
+  @Test
+  void testGeneratorIsCachedByPattern() {
+    assertThat(RegexGenerator.of("^[a-z]{4}$")).isSameAs(RegexGenerator.of("^[a-z]{4}$"));
+  }
+}
@@ -0,0 +1,67 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+class EndToEndLatencyTest {
+
+  private static final String HEADER = "kloadgen.e2e";
+
+  @Test
+  void testDuplicatesAndMissingRecordsAreCounted() {
+    EndToEndLatency endToEndLatency = EndToEndLatency.forGroup(HEADER, "duplicates");
+
+    String summary = endToEndLatency.record(List.of(stamped(0, 7L, 0), stamped(0, 7L, 1), stamped(1, 7L, 1), stamped(1, 7L, 3), stamped(0, 8L, 0)));
+
+    assertThat(summary).contains("duplicates: 1", "missing: 1");
+    assertThat(endToEndLatency.release()).startsWith("Records: 5, p50: ").endsWith("Duplicates per partition: {topic-1=1}, missing: 1");
+  }
+
+  @Test
+  void testSamplersOfAGroupShareSequences() {
+    EndToEndLatency first = EndToEndLatency.forGroup(HEADER, "shared");
+    EndToEndLatency second = EndToEndLatency.forGroup(HEADER, "shared");
+
+    first.record(List.of(stamped(0, 7L, 0), stamped(0, 7L, 2)));
+    String summary = second.record(List.of(stamped(1, 7L, 1), unstamped()));
+
+    assertThat(summary).contains("duplicates: 0", "missing: 0");
+    assertThat(first.release()).isNull();
+    assertThat(second.release()).startsWith("Records: 3, ");
+  }
+
+  @Test
+  void testWindowIsCappedBehindTheHighestSequence() {
+    EndToEndLatency endToEndLatency = EndToEndLatency.forGroup(HEADER, "capped");
+
+    endToEndLatency.record(List.of(stamped(0, 7L, 0), stamped(0, 7L, 5_000_000_000L)));
+    String summary = endToEndLatency.record(List.of(stamped(0, 7L, 5_000_000_001L), stamped(0, 7L, 1)));
+
+    assertThat(summary).contains("duplicates: 1", "missing: 4999999999");
+    endToEndLatency.release();
+  }
+
+  private static ConsumerRecord<Object, Object> stamped(int partition, long source, long sequence) {
+    ConsumerRecord<Object, Object> consumerRecord = unstamped(partition);
+    consumerRecord.headers().add(HEADER, EndToEndLatency.stamp(source, sequence));
+    return consumerRecord;
+  }
+
+  private static ConsumerRecord<Object, Object> unstamped() {
+    return unstamped(0);
+  }
+
+  private static ConsumerRecord<Object, Object> unstamped(int partition) {
+    return new ConsumerRecord<>("topic", partition, 0L, "key", "value");
+  }
+}
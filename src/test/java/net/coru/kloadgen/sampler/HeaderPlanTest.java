@@ -0,0 +1,49 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import net.coru.kloadgen.model.HeaderMapping;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+
+class HeaderPlanTest {
+
+  @Test
+  void testStaticHeadersAreShared() {
+    HeaderPlan headerPlan = HeaderPlan.compile(List.of(new HeaderMapping("source", "kloadgen"), new HeaderMapping("traceId", "uuid")));
+    ProducerRecord<Object, Object> first = new ProducerRecord<>("topic", "value");
+    ProducerRecord<Object, Object> second = new ProducerRecord<>("topic", "value");
+
+    headerPlan.addTo(first, false);
+    headerPlan.addTo(second, false);
+
+    assertThat(new String(first.headers().lastHeader("source").value(), StandardCharsets.UTF_8)).isEqualTo("kloadgen");
+    assertThat(first.headers().lastHeader("source").value()).isSameAs(second.headers().lastHeader("source").value());
+    assertThat(first.headers().lastHeader("traceId").value()).isNotEqualTo(second.headers().lastHeader("traceId").value());
+  }
+
+  @Test
+  void testDescriptionIsBuiltOnlyWhenDescribed() {
+    List<HeaderMapping> headers = List.of(new HeaderMapping("source", "kloadgen"), new HeaderMapping("retries", "int"));
+    HeaderPlan headerPlan = HeaderPlan.compile(headers);
+    ProducerRecord<Object, Object> producerRecord = new ProducerRecord<>("topic", "value");
+
+    assertThat(headerPlan.addTo(new ProducerRecord<>("topic", "value"), false)).isNull();
+    String description = headerPlan.addTo(producerRecord, true);
+
+    assertThat(description)
+        .startsWith("source:kloadgen,retries:")
+        .endsWith(new String(producerRecord.headers().lastHeader("retries").value(), StandardCharsets.UTF_8));
+    assertThat(headerPlan.isCompiledFrom(headers)).isTrue();
+    assertThat(HeaderPlan.compile(List.of())).isSameAs(HeaderPlan.EMPTY);
+  }
+}
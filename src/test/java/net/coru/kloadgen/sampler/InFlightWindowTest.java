@@ -0,0 +1,95 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InFlightWindowTest {
+
+  private static final Serializer<Object> SERIALIZER = (topic, data) -> new byte[0];
+
+  private MockProducer<Object, Object> producer;
+
+  @BeforeEach
+  void setUp() {
+    producer = new MockProducer<>(false, SERIALIZER, SERIALIZER);
+  }
+
+  @Test
+  void testSendBlocksOnceMaxInFlightIsReached() throws InterruptedException {
+    InFlightWindow inFlightWindow = new InFlightWindow(2);
+    inFlightWindow.send(producer, record(), "label");
+    inFlightWindow.send(producer, record(), "label");
+
+    Thread third = new Thread(() -> {
+      try {
+        inFlightWindow.send(producer, record(), "label");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    third.start();
+    third.join(200);
+
+    assertThat(third.isAlive()).isTrue();
+    assertThat(producer.history()).hasSize(2);
+
+    producer.completeNext();
+    third.join(5000);
+
+    assertThat(third.isAlive()).isFalse();
+    assertThat(producer.history()).hasSize(3);
+    assertThat(inFlightWindow.inFlight()).isEqualTo(2);
+  }
+
+  @Test
+  void testDrainAttachesAcksAndFailsParentOnErroredAck() throws InterruptedException {
+    InFlightWindow inFlightWindow = new InFlightWindow(4);
+    inFlightWindow.send(producer, record(), "first");
+    inFlightWindow.send(producer, record(), "second");
+    producer.completeNext();
+    producer.errorNext(new IllegalStateException("broker down"));
+
+    SampleResult parent = new SampleResult();
+    parent.setSuccessful(true);
+
+    assertThat(inFlightWindow.drainInto(parent)).isEqualTo(2);
+    assertThat(parent.isSuccessful()).isFalse();
+    assertThat(parent.getSubResults()).hasSize(2);
+    assertThat(parent.getSubResults()[0].isSuccessful()).isTrue();
+    assertThat(parent.getSubResults()[1].isSuccessful()).isFalse();
+    assertThat(parent.getSubResults()[1].getResponseDataAsString()).isEqualTo("broker down");
+    assertThat(inFlightWindow.drainInto(new SampleResult())).isZero();
+  }
+
+  @Test
+  void testAwaitCompletionTimesOutWhileRecordsAreInFlight() throws InterruptedException {
+    InFlightWindow inFlightWindow = new InFlightWindow(4);
+    inFlightWindow.send(producer, record(), "label");
+
+    assertThat(inFlightWindow.awaitCompletion(Duration.ofMillis(50))).isFalse();
+    assertThat(inFlightWindow.inFlight()).isEqualTo(1);
+
+    producer.completeNext();
+
+    assertThat(inFlightWindow.awaitCompletion(Duration.ofMillis(50))).isTrue();
+    assertThat(inFlightWindow.inFlight()).isZero();
+  }
+
+  private static ProducerRecord<Object, Object> record() {
+    return new ProducerRecord<>("topic", "key", "value");
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_INTERVAL_MS;
+import static net.coru.kloadgen.util.PropsKeysHelper.COMMIT_MODE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KafkaConsumerBatchSamplerTest {
+
+  private static final String TOPIC = "topic";
+
+  private static final TopicPartition FIRST = new TopicPartition(TOPIC, 0);
+
+  private static final TopicPartition SECOND = new TopicPartition(TOPIC, 1);
+
+  private MockConsumer<Object, Object> consumer;
+
+  @BeforeEach
+  void setUp() {
+    consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+    consumer.assign(List.of(FIRST, SECOND));
+    consumer.updateBeginningOffsets(Map.of(FIRST, 0L, SECOND, 0L));
+    consumer.updateEndOffsets(Map.of(FIRST, 10L, SECOND, 5L));
+    for (int offset = 0; offset < 3; offset++) {
+      consumer.addRecord(record(FIRST, offset));
+    }
+    for (int offset = 0; offset < 2; offset++) {
+      consumer.addRecord(record(SECOND, offset));
+    }
+  }
+
+  @Test
+  void testPollIsReportedAsASingleSampleWithItsLag() {
+    JavaSamplerContext context = context("ASYNC", "1000");
+
+    SampleResult sampleResult = sampler(context).runTest(context);
+
+    assertThat(sampleResult.isSuccessful()).isTrue();
+    assertThat(sampleResult.getSampleCount()).isEqualTo(5);
+    assertThat(sampleResult.getBytesAsLong()).isEqualTo(5 * (3 + 7));
+    assertThat(sampleResult.getResponseDataAsString()).startsWith("Records: 5, bytes: 50, fetch: ").endsWith("lag: 10");
+  }
+
+  @Test
+  void testAsyncModeCommitsEveryPoll() {
+    JavaSamplerContext context = context("async", "60000");
+
+    sampler(context).runTest(context);
+
+    Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(Set.of(FIRST, SECOND));
+    assertThat(committed.get(FIRST).offset()).isEqualTo(3);
+    assertThat(committed.get(SECOND).offset()).isEqualTo(2);
+  }
+
+  @Test
+  void testPeriodicModeCommitsOnTheIntervalAndAtTeardown() {
+    JavaSamplerContext context = context("PERIODIC", "60000");
+    KafkaConsumerBatchSampler sampler = sampler(context);
+
+    sampler.runTest(context);
+
+    assertThat(consumer.committed(Set.of(FIRST)).get(FIRST)).isNull();
+
+    sampler.teardownTest(context);
+
+    assertThat(consumer.committed(Set.of(FIRST)).get(FIRST).offset()).isEqualTo(3);
+  }
+
+  @Test
+  void testPeriodicModeCommitsOnceTheIntervalIsOver() {
+    JavaSamplerContext context = context("PERIODIC", "0");
+
+    sampler(context).runTest(context);
+
+    assertThat(consumer.committed(Set.of(SECOND)).get(SECOND).offset()).isEqualTo(2);
+  }
+
+  private static ConsumerRecord<Object, Object> record(TopicPartition topicPartition, int offset) {
+    return new ConsumerRecord<>(TOPIC, topicPartition.partition(), offset, 0L, TimestampType.CREATE_TIME, 3, 7, "key", "value",
+                                new RecordHeaders(), Optional.empty());
+  }
+
+  private static JavaSamplerContext context(String commitMode, String commitIntervalMs) {
+    Arguments arguments = new Arguments();
+    arguments.addArgument(COMMIT_MODE, commitMode);
+    arguments.addArgument(COMMIT_INTERVAL_MS, commitIntervalMs);
+    return new JavaSamplerContext(arguments);
+  }
+
+  private KafkaConsumerBatchSampler sampler(JavaSamplerContext context) {
+    KafkaConsumerBatchSampler sampler = new TestConsumerBatchSampler(consumer);
+    sampler.configureBatch(context);
+    return sampler;
+  }
+
+  /**
+   * Batch consumer sampler polling the given consumer instead of the configured one.
+   */
+  private static final class TestConsumerBatchSampler extends KafkaConsumerBatchSampler {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Consumer<Object, Object> consumer;
+
+    private TestConsumerBatchSampler(Consumer<Object, Object> consumer) {
+      this.consumer = consumer;
+    }
+
+    @Override
+    Consumer<Object, Object> getConsumer() {
+      return consumer;
+    }
+
+    @Override
+    Long getTimeout() {
+      return 10L;
+    }
+  }
+}
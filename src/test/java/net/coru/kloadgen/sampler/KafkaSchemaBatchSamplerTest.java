@@ -0,0 +1,176 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_RECORDS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.BATCH_SUB_RESULTS;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_NO;
+import static net.coru.kloadgen.util.ProducerKeysHelper.FLAG_YES;
+import static net.coru.kloadgen.util.ProducerKeysHelper.RATE_TARGET;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import org.apache.jmeter.config.Arguments;
+import org.apache.jmeter.protocol.java.sampler.JavaSampler;
+import org.apache.jmeter.protocol.java.sampler.JavaSamplerContext;
+import org.apache.jmeter.samplers.SampleResult;
+import org.apache.jmeter.threads.JMeterContextService;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class KafkaSchemaBatchSamplerTest {
+
+  private static final Serializer<Object> SERIALIZER = (topic, data) -> new byte[0];
+
+  private static final int NONE = -1;
+
+  @BeforeEach
+  void setUp() {
+    JavaSampler javaSampler = new JavaSampler();
+    javaSampler.setName("batch");
+    JMeterContextService.getContext().setCurrentSampler(javaSampler);
+  }
+
+  @Test
+  void testFailedAckFailsTheBatch() {
+    ScriptedProducer producer = new ScriptedProducer(1, NONE);
+    JavaSamplerContext context = context(3, FLAG_NO);
+
+    SampleResult sampleResult = sampler(producer, context).runTest(context);
+
+    assertThat(sampleResult.isSuccessful()).isFalse();
+    assertThat(sampleResult.getSampleCount()).isEqualTo(3);
+    assertThat(sampleResult.getErrorCount()).isEqualTo(1);
+    assertThat(sampleResult.getResponseDataAsString()).startsWith("Records: 3, failed: 1");
+    assertThat(sampleResult.getSubResults()).isEmpty();
+    assertThat(producer.history()).hasSize(2);
+  }
+
+  @Test
+  void testSubResultsCarryEveryAck() {
+    ScriptedProducer producer = new ScriptedProducer(1, NONE);
+    JavaSamplerContext context = context(3, FLAG_YES);
+
+    SampleResult sampleResult = sampler(producer, context).runTest(context);
+
+    assertThat(sampleResult.getSubResults()).hasSize(3);
+    assertThat(sampleResult.getSubResults()[0].isSuccessful()).isTrue();
+    assertThat(sampleResult.getSubResults()[1].isSuccessful()).isFalse();
+    assertThat(sampleResult.getSubResults()[1].getResponseDataAsString()).isEqualTo("broker down");
+    assertThat(sampleResult.getSubResults()[2].isSuccessful()).isTrue();
+    assertThat(sampleResult.getSubResults()[2].getSampleLabel()).isEqualTo("batch");
+  }
+
+  @Test
+  void testSendThrowingMidBatchEndsTheBatch() {
+    ScriptedProducer producer = new ScriptedProducer(NONE, 1);
+    JavaSamplerContext context = context(3, FLAG_NO);
+
+    SampleResult sampleResult = sampler(producer, context).runTest(context);
+
+    assertThat(sampleResult.isSuccessful()).isFalse();
+    assertThat(sampleResult.getSampleCount()).isEqualTo(2);
+    assertThat(sampleResult.getErrorCount()).isEqualTo(1);
+    assertThat(sampleResult.getResponseDataAsString()).startsWith("send rejected. Records: 2, failed: 1");
+    assertThat(producer.history()).hasSize(1);
+  }
+
+  @Test
+  void testRateTargetIsRejected() {
+    Arguments arguments = new Arguments();
+    arguments.addArgument(RATE_TARGET, "100");
+    JavaSamplerContext context = new JavaSamplerContext(arguments);
+
+    assertThatThrownBy(() -> new KafkaSchemaBatchSampler().setupTest(context)).isInstanceOf(IllegalArgumentException.class)
+                                                                             .hasMessageContaining("Rate target");
+    assertThat(new KafkaSchemaBatchSampler().getDefaultParameters().getArgumentsAsMap()).doesNotContainKey(RATE_TARGET).containsKey(BATCH_RECORDS);
+  }
+
+  private static JavaSamplerContext context(int batchRecords, String subResults) {
+    Arguments arguments = new Arguments();
+    arguments.addArgument(BATCH_RECORDS, String.valueOf(batchRecords));
+    arguments.addArgument(BATCH_SUB_RESULTS, subResults);
+    return new JavaSamplerContext(arguments);
+  }
+
+  private static KafkaSchemaBatchSampler sampler(Producer<Object, Object> producer, JavaSamplerContext context) {
+    KafkaSchemaBatchSampler sampler = new TestBatchSampler(producer);
+    sampler.configureBatch(context);
+    return sampler;
+  }
+
+  /**
+   * Batch sampler sending generated strings through the given producer instead of the configured ones.
+   */
+  private static final class TestBatchSampler extends KafkaSchemaBatchSampler {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Producer<Object, Object> producer;
+
+    private int generated;
+
+    private TestBatchSampler(Producer<Object, Object> producer) {
+      this.producer = producer;
+    }
+
+    @Override
+    ProducerRecord<Object, Object> nextProducerRecord(SampleResult sampleResult) {
+      return new ProducerRecord<>("topic", "key", "value-" + generated++);
+    }
+
+    @Override
+    Producer<Object, Object> getProducer() {
+      return producer;
+    }
+  }
+
+  /**
+   * Auto-completing producer that fails the ack of one send and throws from another.
+   */
+  private static final class ScriptedProducer extends MockProducer<Object, Object> {
+
+    private final int failAt;
+
+    private final int throwAt;
+
+    private int sends;
+
+    private ScriptedProducer(int failAt, int throwAt) {
+      super(true, SERIALIZER, SERIALIZER);
+      this.failAt = failAt;
+      this.throwAt = throwAt;
+    }
+
+    @Override
+    public synchronized Future<RecordMetadata> send(ProducerRecord<Object, Object> producerRecord, Callback callback) {
+      int send = sends++;
+      if (send == throwAt) {
+        throw new KafkaException("send rejected");
+      }
+      Future<RecordMetadata> future;
+      if (send == failAt) {
+        KafkaException exception = new KafkaException("broker down");
+        callback.onCompletion(null, exception);
+        future = CompletableFuture.failedFuture(exception);
+      } else {
+        future = super.send(producerRecord, callback);
+      }
+      return future;
+    }
+  }
+}
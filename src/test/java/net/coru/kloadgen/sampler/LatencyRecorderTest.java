@@ -0,0 +1,42 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LatencyRecorderTest {
+
+  @Test
+  void testRecordersSharingAFileAreMergedOnRelease(@TempDir Path reportDir) throws IOException {
+    Path reportFile = reportDir.resolve("latency.csv");
+    LatencyRecorder first = LatencyRecorder.register(reportFile, 0);
+    LatencyRecorder second = LatencyRecorder.register(reportFile, 0);
+
+    first.recordSend(1_500_000);
+    second.recordSend(2_500_000);
+    second.recordGeneration(40_000);
+    first.release();
+
+    assertThat(Files.readAllLines(reportFile)).hasSize(1);
+
+    second.release();
+    List<String> lines = Files.readAllLines(reportFile);
+
+    assertThat(lines).hasSize(3);
+    assertThat(lines.get(0)).isEqualTo("timestamp,latency,scope,count,p50_us,p99_us,p99.9_us,max_us");
+    assertThat(lines.get(1)).contains(",send,total,2,1500,").endsWith(",2501");
+    assertThat(lines.get(2)).endsWith(",generation,total,1,40,40,40,40");
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class RateScheduleTest {
+
+  @Test
+  void testFixedRate() {
+    RateSchedule schedule = RateSchedule.acquire("fixed", RateSchedule.Unit.MESSAGES, 1000, 0, 0);
+
+    assertThat(secondsToReach(schedule, 1000)).isCloseTo(1.0, within(1e-6));
+    assertThat(secondsToReach(schedule, 2500)).isCloseTo(2.5, within(1e-6));
+    schedule.release();
+  }
+
+  @Test
+  void testRampingRate() {
+    RateSchedule schedule = RateSchedule.acquire("ramp", RateSchedule.Unit.MESSAGES, 100, 0, 10);
+
+    assertThat(secondsToReach(schedule, 125)).isCloseTo(5.0, within(1e-6));
+    assertThat(secondsToReach(schedule, 500)).isCloseTo(10.0, within(1e-6));
+    assertThat(secondsToReach(schedule, 600)).isCloseTo(11.0, within(1e-6));
+    schedule.release();
+  }
+
+  @Test
+  void testThreadsShareTheirSchedule() throws InterruptedException {
+    RateSchedule first = RateSchedule.acquire("shared", RateSchedule.Unit.MESSAGES, 1_000_000, 0, 0);
+    RateSchedule second = RateSchedule.acquire("shared", RateSchedule.Unit.MESSAGES, 1_000_000, 0, 0);
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.awaitNextSend()).isLessThan(second.awaitNextSend());
+    first.release();
+    second.release();
+    RateSchedule third = RateSchedule.acquire("shared", RateSchedule.Unit.MESSAGES, 1, 0, 0);
+    assertThat(third).isNotSameAs(first);
+    third.release();
+    assertThatThrownBy(() -> RateSchedule.acquire("invalid", RateSchedule.Unit.MESSAGES, 0, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testScheduleRejectsADifferentRate() {
+    RateSchedule schedule = RateSchedule.acquire("group/sampler", RateSchedule.Unit.MESSAGES, 100, 0, 0);
+
+    assertThatThrownBy(() -> RateSchedule.acquire("group/sampler", RateSchedule.Unit.MESSAGES, 200, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> RateSchedule.acquire("group/sampler", RateSchedule.Unit.MEGABYTES, 100, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    RateSchedule other = RateSchedule.acquire("group/other sampler", RateSchedule.Unit.MESSAGES, 200, 0, 0);
+    assertThat(other).isNotSameAs(schedule);
+    other.release();
+    schedule.release();
+  }
+
+  @Test
+  void testByteRateIsPacedWithTheSeededSizeUntilTheFirstAck() throws InterruptedException {
+    RateSchedule schedule = RateSchedule.acquire("bytes", RateSchedule.Unit.MEGABYTES, 1_000, 0, 0);
+
+    assertThat(schedule.needsRecordSize()).isTrue();
+    schedule.seedRecordSize(1_000);
+    schedule.seedRecordSize(10);
+
+    assertThat(schedule.needsRecordSize()).isFalse();
+    long first = schedule.awaitNextSend();
+    long second = schedule.awaitNextSend();
+    assertThat(second - first).isEqualTo(schedule.intendedTime(1_000) - schedule.intendedTime(0));
+    schedule.release();
+  }
+
+  private static double secondsToReach(RateSchedule schedule, long units) {
+    return (schedule.intendedTime(units) - schedule.intendedTime(0)) / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.sampler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import net.coru.kloadgen.sampler.SharedProducerPool.Sharing;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.KafkaException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class SharedProducerPoolTest {
+
+  private static Stream<Arguments> parametersForKeyFor() {
+    return Stream.of(
+        Arguments.of(Sharing.INJECTOR, 0, "topic-a", 9, "topic-b", true),
+        Arguments.of(Sharing.THREADS, 0, "topic-a", 9, "topic-a", true),
+        Arguments.of(Sharing.THREADS, 9, "topic-a", 10, "topic-a", false),
+        Arguments.of(Sharing.TOPIC, 0, "topic-a", 9, "topic-a", true),
+        Arguments.of(Sharing.TOPIC, 0, "topic-a", 0, "topic-b", false));
+  }
+
+  @ParameterizedTest
+  @MethodSource("parametersForKeyFor")
+  void testKeyFor(Sharing sharing, int threadNum, String topic, int otherThreadNum, String otherTopic, boolean shared) {
+    Properties props = producerProperties("localhost:9092");
+    assertThat(SharedProducerPool.keyFor(sharing, props, "group", threadNum, 10, topic)
+                                 .equals(SharedProducerPool.keyFor(sharing, props, "group", otherThreadNum, 10, otherTopic))).isEqualTo(shared);
+  }
+
+  @Test
+  void testNoSharing() {
+    assertThat(SharedProducerPool.keyFor(Sharing.NONE, producerProperties("localhost:9092"), "group", 0, 10, "topic")).isNull();
+  }
+
+  @Test
+  void testDifferentPropertiesAreNotShared() {
+    assertThat(SharedProducerPool.keyFor(Sharing.INJECTOR, producerProperties("localhost:9092"), "group", 0, 10, "topic"))
+        .isNotEqualTo(SharedProducerPool.keyFor(Sharing.INJECTOR, producerProperties("localhost:9093"), "group", 0, 10, "topic"));
+  }
+
+  @Test
+  void testProducerClosedOnLastRelease() {
+    SharedProducerPool.Key key = SharedProducerPool.keyFor(Sharing.INJECTOR, producerProperties("localhost:9094"), "group", 0, 10, "topic");
+    MockProducer<Object, Object> mockProducer = new MockProducer<>();
+
+    Producer<Object, Object> first = SharedProducerPool.acquire(key, () -> mockProducer);
+    Producer<Object, Object> second = SharedProducerPool.acquire(key, MockProducer::new);
+    assertThat(first).isSameAs(mockProducer);
+    assertThat(second).isSameAs(mockProducer);
+
+    SharedProducerPool.release(key);
+    assertThat(mockProducer.closed()).isFalse();
+    SharedProducerPool.release(key);
+    assertThat(mockProducer.closed()).isTrue();
+  }
+
+  @Test
+  void testFailedProducerIsNotKept() {
+    SharedProducerPool.Key key = SharedProducerPool.keyFor(Sharing.INJECTOR, producerProperties("localhost:9095"), "group", 0, 10, "topic");
+    MockProducer<Object, Object> mockProducer = new MockProducer<>();
+
+    assertThatThrownBy(() -> SharedProducerPool.acquire(key, () -> {
+      throw new KafkaException("Failed to construct kafka producer");
+    })).isInstanceOf(KafkaException.class).hasMessage("Failed to construct kafka producer");
+
+    assertThat(SharedProducerPool.acquire(key, () -> mockProducer)).isSameAs(mockProducer);
+    SharedProducerPool.release(key);
+    assertThat(mockProducer.closed()).isTrue();
+  }
+
+  private static Properties producerProperties(String bootstrapServers) {
+    Properties props = new Properties();
+    props.put("bootstrap.servers", bootstrapServers);
+    return props;
+  }
+}
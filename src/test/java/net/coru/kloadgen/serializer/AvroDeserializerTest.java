@@ -0,0 +1,59 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.serializer;
+
+import static net.coru.kloadgen.util.PropsKeysHelper.KEY_SCHEMA;
+import static net.coru.kloadgen.util.PropsKeysHelper.VALUE_SCHEMA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Collections;
+import java.util.Map;
+
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+class AvroDeserializerTest {
+
+  private static final String AVRO_SCHEMA = "{\"type\":\"record\",\"name\":\"test\",\"fields\":[{\"name\":\"Name\",\"type\":\"string\"}]}";
+
+  private static final Schema SCHEMA = new Schema.Parser().parse(AVRO_SCHEMA);
+
+  @Test
+  void testMessagesAreReadWithTheConfiguredSchema() {
+    AvroDeserializer deserializer = new AvroDeserializer();
+    deserializer.configure(Map.of(VALUE_SCHEMA, AVRO_SCHEMA), false);
+
+    Object first = deserializer.deserialize("topic", serialize("first"));
+    Object second = deserializer.deserialize("topic", serialize("second"));
+
+    assertThat(((GenericRecord) first).get("Name")).hasToString("first");
+    assertThat(((GenericRecord) second).get("Name")).hasToString("second");
+    assertThat(first).isNotSameAs(second);
+  }
+
+  @Test
+  void testInstancesDoNotShareSchemas() {
+    AvroDeserializer keyDeserializer = new AvroDeserializer();
+    keyDeserializer.configure(Map.of(KEY_SCHEMA, ""), true);
+    AvroDeserializer valueDeserializer = new AvroDeserializer();
+    valueDeserializer.configure(Map.of(VALUE_SCHEMA, AVRO_SCHEMA), false);
+
+    assertThat(valueDeserializer.deserialize("topic", serialize("value"))).isNotNull();
+    assertThatThrownBy(() -> keyDeserializer.deserialize("topic", serialize("key"))).isInstanceOf(SerializationException.class);
+  }
+
+  private static byte[] serialize(String name) {
+    GenericRecord genericRecord = new GenericData.Record(SCHEMA);
+    genericRecord.put("Name", name);
+    return new AvroSerializer<>().serialize("topic", new EnrichedRecord(new SchemaMetadata(71, 1, "AVRO", Collections.emptyList(), AVRO_SCHEMA), genericRecord));
+  }
+}
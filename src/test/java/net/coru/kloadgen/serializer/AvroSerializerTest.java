@@ -0,0 +1,60 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+import org.junit.jupiter.api.Test;
+
+class AvroSerializerTest {
+
+  private static final String NAME_SCHEMA = "{\"type\":\"record\",\"name\":\"named\",\"fields\":[{\"name\":\"Name\",\"type\":\"string\"}]}";
+
+  private static final String AGE_SCHEMA = "{\"type\":\"record\",\"name\":\"aged\",\"fields\":[{\"name\":\"Age\",\"type\":\"int\"},"
+                                           + "{\"name\":\"Active\",\"type\":\"boolean\"}]}";
+
+  private final AvroSerializer<EnrichedRecord> serializer = new AvroSerializer<>();
+
+  @Test
+  void testRecordsOfDifferentSchemasAreWrittenWithTheirOwnWriter() throws IOException {
+    Schema nameSchema = new Schema.Parser().parse(NAME_SCHEMA);
+    Schema ageSchema = new Schema.Parser().parse(AGE_SCHEMA);
+    GenericRecord named = new GenericData.Record(nameSchema);
+    named.put("Name", "Pablo");
+    GenericRecord aged = new GenericData.Record(ageSchema);
+    aged.put("Age", 42);
+    aged.put("Active", true);
+
+    byte[] namedBytes = serializer.serialize("topic", new EnrichedRecord(metadata(71, NAME_SCHEMA), named));
+    byte[] agedBytes = serializer.serialize("topic", new EnrichedRecord(metadata(72, AGE_SCHEMA), aged));
+    byte[] namedAgainBytes = serializer.serialize("topic", new EnrichedRecord(metadata(71, NAME_SCHEMA), named));
+
+    assertThat(Arrays.copyOf(namedBytes, 5)).containsExactly(0, 0, 0, 0, 71);
+    assertThat(Arrays.copyOf(agedBytes, 5)).containsExactly(0, 0, 0, 0, 72);
+    assertThat(decode(namedBytes, nameSchema)).isEqualTo(named);
+    assertThat(decode(agedBytes, ageSchema)).isEqualTo(aged);
+    assertThat(namedAgainBytes).containsExactly(namedBytes);
+  }
+
+  private static SchemaMetadata metadata(int id, String schema) {
+    return new SchemaMetadata(id, 1, "AVRO", Collections.emptyList(), schema);
+  }
+
+  private static GenericRecord decode(byte[] serialized, Schema schema) throws IOException {
+    return new GenericDatumReader<GenericRecord>(schema).read(null, DecoderFactory.get().binaryDecoder(serialized, 5, serialized.length - 5, null));
+  }
+}
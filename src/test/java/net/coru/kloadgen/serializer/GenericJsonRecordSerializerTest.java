@@ -0,0 +1,45 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+class GenericJsonRecordSerializerTest {
+
+  private final GenericJsonRecordSerializer<ObjectNode> serializer = new GenericJsonRecordSerializer<>();
+
+  @Test
+  void testNonAsciiIsEscapedThroughBothOverloads() {
+    ObjectNode record = JsonNodeFactory.instance.objectNode().put("name", "Ñandú €");
+    byte[] expected = "{\"name\":\"\\u00D1and\\u00FA \\u20AC\"}".getBytes(StandardCharsets.US_ASCII);
+
+    byte[] withoutHeaders = serializer.serialize("topic", record);
+    byte[] withHeaders = serializer.serialize("topic", new RecordHeaders(), record);
+
+    assertThat(withoutHeaders).containsExactly(expected);
+    assertThat(withHeaders).containsExactly(expected);
+  }
+
+  @Test
+  void testGeneratorBufferIsResetBetweenRecords() {
+    ObjectNode first = JsonNodeFactory.instance.objectNode().put("id", 1).put("name", "first");
+    ObjectNode second = JsonNodeFactory.instance.objectNode().put("id", 2);
+
+    byte[] firstBytes = serializer.serialize("topic", first);
+    byte[] secondBytes = serializer.serialize("topic", second);
+
+    assertThat(new String(firstBytes, StandardCharsets.US_ASCII)).isEqualTo("{\"id\":1,\"name\":\"first\"}");
+    assertThat(new String(secondBytes, StandardCharsets.US_ASCII)).isEqualTo("{\"id\":2}");
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ *  This Source Code Form is subject to the terms of the Mozilla Public
+ *  * License, v. 2.0. If a copy of the MPL was not distributed with this
+ *  * file, You can obtain one at https://mozilla.org/MPL/2.0/.
+ */
+
+package net.coru.kloadgen.serializer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.Message;
+import io.confluent.kafka.schemaregistry.client.MockSchemaRegistryClient;
+import io.confluent.kafka.schemaregistry.client.SchemaMetadata;
+import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchema;
+import io.confluent.kafka.schemaregistry.protobuf.ProtobufSchemaProvider;
+import io.confluent.kafka.serializers.protobuf.KafkaProtobufDeserializer;
+import org.junit.jupiter.api.Test;
+
+class ProtobufSerializerTest {
+
+  private static final String PROTO_SCHEMA = "syntax = \"proto3\";\n"
+                                             + "package test;\n"
+                                             + "message First {\n"
+                                             + "  string name = 1;\n"
+                                             + "}\n"
+                                             + "message Second {\n"
+                                             + "  message Inner {\n"
+                                             + "    int32 id = 1;\n"
+                                             + "  }\n"
+                                             + "  Inner inner = 1;\n"
+                                             + "}\n";
+
+  private static final ProtobufSchema SCHEMA = new ProtobufSchema(PROTO_SCHEMA);
+
+  private static final int SCHEMA_ID = 71;
+
+  @Test
+  void testFirstMessageIsWrittenWithASingleZeroIndex() {
+    byte[] serialized = serialize(SCHEMA_ID, first("Pablo"));
+
+    assertThat(Arrays.copyOf(serialized, 6)).containsExactly(0, 0, 0, 0, SCHEMA_ID, 0);
+    assertThat(Arrays.copyOfRange(serialized, 6, serialized.length)).containsExactly(first("Pablo").toByteArray());
+  }
+
+  @Test
+  void testNestedMessageIsWrittenWithItsIndexPath() {
+    byte[] serialized = serialize(SCHEMA_ID, inner(7));
+
+    // zigzag encoded path length 2, then the index of Second and the index of Inner inside it
+    assertThat(Arrays.copyOf(serialized, 8)).containsExactly(0, 0, 0, 0, SCHEMA_ID, 4, 2, 0);
+    assertThat(Arrays.copyOfRange(serialized, 8, serialized.length)).containsExactly(inner(7).toByteArray());
+  }
+
+  @Test
+  void testMessagesAreReadBackByTheConfluentDeserializer() throws Exception {
+    MockSchemaRegistryClient client = new MockSchemaRegistryClient(List.of(new ProtobufSchemaProvider()));
+    int schemaId = client.register("topic-value", SCHEMA);
+    KafkaProtobufDeserializer<Message> deserializer = new KafkaProtobufDeserializer<>(client);
+
+    Message firstRead = deserializer.deserialize("topic", serialize(schemaId, first("Pablo")));
+    Message innerRead = deserializer.deserialize("topic", serialize(schemaId, inner(7)));
+
+    assertThat(firstRead.getDescriptorForType().getFullName()).isEqualTo("test.First");
+    assertThat(firstRead.getField(firstRead.getDescriptorForType().findFieldByName("name"))).isEqualTo("Pablo");
+    assertThat(innerRead.getDescriptorForType().getFullName()).isEqualTo("test.Second.Inner");
+    assertThat(innerRead.getField(innerRead.getDescriptorForType().findFieldByName("id"))).isEqualTo(7);
+  }
+
+  private static byte[] serialize(int schemaId, DynamicMessage message) {
+    SchemaMetadata schemaMetadata = new SchemaMetadata(schemaId, 1, "PROTOBUF", Collections.emptyList(), PROTO_SCHEMA);
+    return new ProtobufSerializer<>().serialize("topic", new EnrichedRecord(schemaMetadata, message));
+  }
+
+  private static DynamicMessage first(String name) {
+    Descriptor descriptor = SCHEMA.toDescriptor("test.First");
+    return DynamicMessage.newBuilder(descriptor).setField(descriptor.findFieldByName("name"), name).build();
+  }
+
+  private static DynamicMessage inner(int id) {
+    Descriptor descriptor = SCHEMA.toDescriptor("test.Second.Inner");
+    return DynamicMessage.newBuilder(descriptor).setField(descriptor.findFieldByName("id"), id).build();
+  }
+}